@@ -0,0 +1,59 @@
+package com.urfu.library.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Конфигурация компактных бинарных форматов (CBOR и Smile) для межсервисных запросов.
+ * Клиент выбирает формат заголовками Accept и Content-Type: application/cbor или application/x-jackson-smile.
+ * В обоих форматах включены обратные ссылки на уже записанные строки,
+ * поэтому повторяющиеся значения (например, имена авторов в списке книг) кодируются один раз.
+ */
+@Configuration
+public class BinaryFormatsConfig {
+
+    /**
+     * Конвертер CBOR с расширением stringref
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(cborObjectMapper(builder));
+    }
+
+    /**
+     * Конвертер Smile с разделяемыми строковыми значениями
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(smileObjectMapper(builder));
+    }
+
+    /**
+     * Создает ObjectMapper для CBOR с теми же настройками, что и основной JSON ObjectMapper
+     */
+    public static ObjectMapper cborObjectMapper(Jackson2ObjectMapperBuilder builder) {
+        CBORFactory factory = CBORFactory.builder()
+                .enable(CBORGenerator.Feature.STRINGREF)
+                .build();
+        return builder.factory(factory).build();
+    }
+
+    /**
+     * Создает ObjectMapper для Smile с теми же настройками, что и основной JSON ObjectMapper
+     */
+    public static ObjectMapper smileObjectMapper(Jackson2ObjectMapperBuilder builder) {
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return builder.factory(factory).build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.urfu.library.config;
+
+import com.urfu.library.model.BookRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+/**
+ * Конфигурация репозиториев JPA.
+ * Реактивные репозитории исключаются из сканирования JPA, их создает R2DBC в профиле reactive.
+ * В реактивном режиме JPA не поднимается: при наличии R2DBC ConnectionFactory Spring Boot не создает DataSource.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableJpaRepositories(basePackageClasses = BookRepository.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = ReactiveCrudRepository.class))
+public class PersistenceConfig {
+}
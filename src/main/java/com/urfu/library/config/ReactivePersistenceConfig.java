@@ -0,0 +1,62 @@
+package com.urfu.library.config;
+
+import com.urfu.library.model.Book;
+import com.urfu.library.model.BookDescription;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.mapping.event.BeforeConvertCallback;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Конфигурация R2DBC для реактивного режима.
+ * Идентификаторы новых книг и описаний берутся из тех же последовательностей, что использует Hibernate,
+ * поэтому записи, добавленные через оба варианта API, не конфликтуют по идентификатору.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePersistenceConfig {
+
+    /**
+     * Назначает идентификатор новому описанию книги перед вставкой
+     */
+    @Bean
+    public BeforeConvertCallback<BookDescription> bookDescriptionIdCallback(DatabaseClient databaseClient) {
+        return (description, table) -> {
+            if (description.getId() != null) {
+                return Mono.just(description);
+            }
+            return nextValue(databaseClient, "book_description_seq")
+                    .map(id -> {
+                        description.setId(id);
+                        return description;
+                    });
+        };
+    }
+
+    /**
+     * Назначает идентификатор новой книге перед вставкой.
+     * Hibernate выдает идентификаторы блоками (v - 49 .. v) по значению v последовательности,
+     * поэтому само значение nextval никогда не попадает в блок, выданный Hibernate.
+     */
+    @Bean
+    public BeforeConvertCallback<Book> bookIdCallback(DatabaseClient databaseClient) {
+        return (book, table) -> {
+            if (book.getId() != null) {
+                return Mono.just(book);
+            }
+            return nextValue(databaseClient, "book_seq")
+                    .map(id -> {
+                        book.setId(id);
+                        return book;
+                    });
+        };
+    }
+
+    private static Mono<Long> nextValue(DatabaseClient databaseClient, String sequence) {
+        return databaseClient.sql("select nextval('" + sequence + "')")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+}
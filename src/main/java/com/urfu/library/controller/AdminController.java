@@ -0,0 +1,53 @@
+package com.urfu.library.controller;
+
+import com.urfu.library.model.CacheRegionStats;
+import com.urfu.library.model.HotBooks;
+import com.urfu.library.service.CacheStatisticsService;
+import com.urfu.library.service.HotBookTracker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Контроллер служебных операций для администрирования и мониторинга.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+    private final HotBookTracker hotBookTracker;
+
+    @Autowired
+    public AdminController(CacheStatisticsService cacheStatisticsService, HotBookTracker hotBookTracker) {
+        this.cacheStatisticsService = cacheStatisticsService;
+        this.hotBookTracker = hotBookTracker;
+    }
+
+    /**
+     * Возвращает статистику регионов кэша второго уровня
+     * @return ResponseEntity со статистикой по каждому региону.
+     * HttpStatus: OK
+     */
+    @GetMapping("/cache")
+    public ResponseEntity<List<CacheRegionStats>> getCacheStatistics() {
+        return new ResponseEntity<>(cacheStatisticsService.getRegionStatistics(), HttpStatus.OK);
+    }
+
+    /**
+     * Возвращает самые часто читаемые книги и названия
+     * @return ResponseEntity с top-K идентификаторов и названий книг.
+     * HttpStatus: OK
+     */
+    @GetMapping("/hot")
+    public ResponseEntity<HotBooks> getHotBooks() {
+        return new ResponseEntity<>(hotBookTracker.getHotBooks(), HttpStatus.OK);
+    }
+}
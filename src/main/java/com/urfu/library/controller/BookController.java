@@ -1,9 +1,13 @@
 package com.urfu.library.controller;
 
+import com.fasterxml.jackson.annotation.JsonView;
 import com.urfu.library.model.Book;
+import com.urfu.library.model.BookStats;
 import com.urfu.library.service.BookService;
+import com.urfu.library.service.HotBookTracker;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -19,22 +23,26 @@ import java.util.Optional;
 @RestController
 @RequestMapping("/api/book")
 @Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class BookController {
 
     private final BookService bookService;
+    private final HotBookTracker hotBookTracker;
 
     @Autowired
-    public BookController(BookService bookService) {
+    public BookController(BookService bookService, HotBookTracker hotBookTracker) {
         this.bookService = bookService;
+        this.hotBookTracker = hotBookTracker;
     }
 
     /**
-     * Получает список всех книг.
+     * Получает список всех книг, без описаний.
      * @return ResponseEntity со списком книг и статусом HTTP.
      * HttpStatus: OK, в случае успеха.
      * HttpStatus: NO_CONTENT, в случае отсутствия книг в БД.
      */
     @GetMapping("/all")
+    @JsonView(Book.Views.Summary.class)
     public ResponseEntity<List<Book>> getAllBooks() {
         List<Book> books = bookService.getAllBooks();
         if (books.isEmpty())
@@ -42,6 +50,17 @@ public class BookController {
         return new ResponseEntity<>(books, HttpStatus.OK);
     }
 
+    /**
+     * Возвращает статистику каталога: общее количество книг, количество по авторам
+     * и число добавлений, обновлений и удалений за последнюю минуту.
+     * @return ResponseEntity со статистикой и статусом HTTP.
+     * HttpStatus: OK
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<BookStats> getStatistics() {
+        return new ResponseEntity<>(bookService.getStatistics(), HttpStatus.OK);
+    }
+
     /**
      * Обновляет информацию о книге по заданному идентификатору книги.
      *
@@ -107,11 +126,12 @@ public class BookController {
         if (book.isEmpty()){
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
+        hotBookTracker.recordBook(bookId);
         return new ResponseEntity<>(book.get(), HttpStatus.OK);
     }
 
     /**
-     * Возвращает список книг соответствующих запрашиваемому названию
+     * Возвращает список книг соответствующих запрашиваемому названию, без описаний
      * @param title название книги
      * @return HTTP status:
      * <ul>
@@ -121,11 +141,13 @@ public class BookController {
      * @author Alexandr Filatov
      */
     @GetMapping
+    @JsonView(Book.Views.Summary.class)
     public ResponseEntity<List<Book>> getBooksByTitle(@RequestParam String title) {
         List<Book> books = bookService.getBooksByTitle(title);
         if (books.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
+        hotBookTracker.recordTitle(title);
         return new ResponseEntity<>(books, HttpStatus.OK);
     }
 }
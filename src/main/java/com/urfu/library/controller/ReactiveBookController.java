@@ -0,0 +1,154 @@
+package com.urfu.library.controller;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import com.urfu.library.model.Book;
+import com.urfu.library.model.BookStats;
+import com.urfu.library.service.ReactiveBookService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Неблокирующий контроллер для управления операциями с книгами.
+ * Предоставляет тот же контракт /api/book, что и {@link BookController}, но на WebFlux и R2DBC.
+ * Активен только при запуске приложения в реактивном режиме (профиль reactive).
+ */
+@RestController
+@RequestMapping("/api/book")
+@Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookController {
+
+    private final ReactiveBookService bookService;
+
+    @Autowired
+    public ReactiveBookController(ReactiveBookService bookService) {
+        this.bookService = bookService;
+    }
+
+    /**
+     * Получает поток всех книг, без описаний.
+     * @return ResponseEntity с потоком книг и статусом HTTP.
+     * HttpStatus: OK, в случае успеха.
+     * HttpStatus: NO_CONTENT, в случае отсутствия книг в БД.
+     */
+    @GetMapping("/all")
+    @JsonView(Book.Views.Summary.class)
+    public Mono<ResponseEntity<Flux<Book>>> getAllBooks() {
+        return streamOrStatus(bookService.getAllBooks(), HttpStatus.NO_CONTENT);
+    }
+
+    /**
+     * Возвращает статистику каталога: общее количество книг, количество по авторам
+     * и число добавлений, обновлений и удалений за последнюю минуту.
+     * @return ResponseEntity со статистикой и статусом HTTP.
+     * HttpStatus: OK
+     */
+    @GetMapping("/stats")
+    public Mono<ResponseEntity<BookStats>> getStatistics() {
+        return Mono.fromSupplier(() -> new ResponseEntity<>(bookService.getStatistics(), HttpStatus.OK));
+    }
+
+    /**
+     * Обновляет информацию о книге по заданному идентификатору книги.
+     *
+     * @param bookId   уникальный идентификатор книги
+     * @param newBook  новый объект книги с обновленной информацией
+     * @return ResponseEntity с соответствующим статусом HTTP
+     * HttpStatus: OK, в случае успеха.
+     * HttpStatus: NOT_FOUND, в случае отсутствия искомой книги в БД.
+     * HttpStatus: UNPROCESSABLE_ENTITY, в случае некорректности входных данных для книги.
+     */
+    @PutMapping("/{bookId}")
+    public Mono<ResponseEntity<Object>> updateBookInfo(@PathVariable("bookId") Long bookId, @RequestBody Book newBook) {
+        if (newBook.getTitle() == null || newBook.getAuthor() == null || newBook.getDescription() == null) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.UNPROCESSABLE_ENTITY));
+        }
+        return bookService.updateBookInfo(bookId, newBook)
+                .map(book -> new ResponseEntity<>(HttpStatus.OK));
+    }
+
+    /**
+     * Удаляет книгу по заданному идентификатору книги.
+     *
+     * @param bookId уникальный идентификатор книги
+     * @return ResponseEntity с соответствующим статусом HTTP
+     * HttpStatus: OK, в случае успеха.
+     * HttpStatus: NOT_FOUND, в случае отсутствия искомой книги в БД.
+     */
+    @DeleteMapping("/{bookId}")
+    public Mono<ResponseEntity<Object>> deleteBook(@PathVariable("bookId") Long bookId) {
+        return bookService.deleteBook(bookId)
+                .then(Mono.just(new ResponseEntity<>(HttpStatus.OK)));
+    }
+
+    /**
+     * Создает новую книгу, добавляет ее в каталог
+     * @param book книга для добавления в каталог
+     * @return HTTP status:
+     * <ul>
+     *     <li>201 Created</li>
+     *     <li>422 Unprocessable Entity</li>
+     * </ul>
+     */
+    @PostMapping
+    public Mono<ResponseEntity<Object>> createBook(@Valid @RequestBody Book book) {
+        return bookService.saveBook(book)
+                .map(saved -> new ResponseEntity<>(HttpStatus.CREATED));
+    }
+
+    /**
+     * Возвращает книгу по id
+     * @param bookId идентификатор книги
+     * @return HTTP status:
+     * <ul>
+     *     <li>200 Success</li>
+     *     <li>404 Not Found</li>
+     * </ul>
+     */
+    @GetMapping("/{bookId}")
+    public Mono<ResponseEntity<Book>> getBook(@PathVariable("bookId") Long bookId) {
+        return bookService.getBookById(bookId)
+                .map(book -> new ResponseEntity<>(book, HttpStatus.OK))
+                .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Возвращает поток книг соответствующих запрашиваемому названию, без описаний
+     * @param title название книги
+     * @return HTTP status:
+     * <ul>
+     *     <li>200 Success</li>
+     *     <li>404 Not Found</li>
+     * </ul>
+     */
+    @GetMapping
+    @JsonView(Book.Views.Summary.class)
+    public Mono<ResponseEntity<Flux<Book>>> getBooksByTitle(@RequestParam String title) {
+        return streamOrStatus(bookService.getBooksByTitle(title), HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Дожидается первого элемента потока, чтобы выбрать статус ответа, и отдает поток клиенту без буферизации.
+     * Первый элемент не теряется и не запрашивается из БД повторно.
+     * @param books поток книг
+     * @param emptyStatus статус ответа для пустого потока
+     */
+    private static Mono<ResponseEntity<Flux<Book>>> streamOrStatus(Flux<Book> books, HttpStatus emptyStatus) {
+        return books.switchOnFirst((first, all) -> {
+            if (first.isOnError()) {
+                return Mono.<ResponseEntity<Flux<Book>>>error(first.getThrowable());
+            }
+            if (!first.hasValue()) {
+                return Mono.just(new ResponseEntity<Flux<Book>>(emptyStatus));
+            }
+            return Mono.just(new ResponseEntity<>(all, HttpStatus.OK));
+        }, false).single();
+    }
+}
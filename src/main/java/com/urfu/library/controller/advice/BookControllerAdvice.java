@@ -1,5 +1,7 @@
 package com.urfu.library.controller.advice;
 
+import com.urfu.library.service.DuplicateBookException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -18,6 +20,7 @@ import java.util.NoSuchElementException;
  * @author Alexandr Filatov
  */
 @ControllerAdvice(annotations = RestController.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class BookControllerAdvice extends ResponseEntityExceptionHandler {
     /**
      * Отдает статус 422 Unprocessable Entity в случае невалидных аргументов метода
@@ -38,4 +41,12 @@ public class BookControllerAdvice extends ResponseEntityExceptionHandler {
     public ResponseEntity<Object> handleNoSuchElementException(NoSuchElementException exception) {
         return new ResponseEntity<>(exception.getMessage(), HttpStatus.NOT_FOUND);
     }
+
+    /**
+     * Отдает статус 409 Conflict при попытке добавить дубликат книги
+     */
+    @ExceptionHandler(DuplicateBookException.class)
+    public ResponseEntity<Object> handleDuplicateBookException(DuplicateBookException exception) {
+        return new ResponseEntity<>(exception.getMessage(), HttpStatus.CONFLICT);
+    }
 }
@@ -0,0 +1,43 @@
+package com.urfu.library.controller.advice;
+
+import com.urfu.library.controller.ReactiveBookController;
+import com.urfu.library.service.DuplicateBookException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.util.NoSuchElementException;
+
+/**
+ * ControllerAdvice для ReactiveBookController, отображает ошибки в те же HTTP статусы, что и {@link BookControllerAdvice}
+ */
+@ControllerAdvice(assignableTypes = ReactiveBookController.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookControllerAdvice {
+    /**
+     * Отдает статус 422 Unprocessable Entity в случае невалидных аргументов метода
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Object> handleWebExchangeBindException(WebExchangeBindException exception) {
+        return new ResponseEntity<>(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    /**
+     * Обработчик исключений NoSuchElementException
+     */
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<Object> handleNoSuchElementException(NoSuchElementException exception) {
+        return new ResponseEntity<>(exception.getMessage(), HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Отдает статус 409 Conflict при попытке добавить дубликат книги
+     */
+    @ExceptionHandler(DuplicateBookException.class)
+    public ResponseEntity<Object> handleDuplicateBookException(DuplicateBookException exception) {
+        return new ResponseEntity<>(exception.getMessage(), HttpStatus.CONFLICT);
+    }
+}
@@ -0,0 +1,9 @@
+package com.urfu.library.model;
+
+/**
+ * Количество книг автора
+ * @param author автор
+ * @param count количество книг
+ */
+public record AuthorCount(String author, long count) {
+}
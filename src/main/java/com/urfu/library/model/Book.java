@@ -1,27 +1,82 @@
 package com.urfu.library.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonView;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
-
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.Locale;
 import java.util.Objects;
 
 /**
- * Сущность книги
+ * Сущность книги.
+ * Отображается как через JPA, так и через R2DBC (реактивный вариант API), поэтому идентификатор
+ * помечен аннотациями обеих технологий.
+ * Кэшируется в регионе book кэша второго уровня Hibernate.
+ * Отпечаток нормализованной пары (название, автор) уникален в БД и защищает каталог от дубликатов.
+ * Описание хранится в отдельной таблице и загружается лениво: списки книг его не читают и не отдают
+ * (представление {@link Views.Summary}), оно нужно только при просмотре одной книги.
+ * Описания, сохраненные прежними версиями в таблице книг, переносятся при старте
+ * (см. {@link com.urfu.library.service.CatalogMigration}).
  */
 @Entity
+@Table(indexes = @Index(name = Book.FINGERPRINT_INDEX, columnList = "fingerprint", unique = true))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "book")
 public class Book {
+    /**
+     * Имя уникального индекса по отпечатку книги
+     */
+    public static final String FINGERPRINT_INDEX = "book_fingerprint_idx";
+
+    /**
+     * Представления JSON: краткое для списков книг и полное для просмотра одной книги
+     */
+    public interface Views {
+        interface Summary {}
+        interface Detail extends Summary {}
+    }
+
     @Id
+    @org.springframework.data.annotation.Id
     @GeneratedValue(strategy = GenerationType.AUTO)
+    @JsonView(Views.Summary.class)
     private Long id;
     @NotBlank(message = "Title must be not null")
+    @JsonView(Views.Summary.class)
     private String title;
     @NotBlank(message = "Author must be not null")
+    @JsonView(Views.Summary.class)
     private String author;
-    @NotBlank(message = "Description must be not null")
-    private String description;
+    @JsonIgnore
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "description_id")
+    @org.springframework.data.annotation.Transient
+    private BookDescription descriptionData;
+    @JsonIgnore
+    @Column(name = "description_id", insertable = false, updatable = false)
+    private Long descriptionId;
+    @JsonIgnore
+    @Column(length = 64)
+    private String fingerprint;
 
     /**
      * Конструктор с указанием значений для всех полей, кроме ID - генерируется автоматически
@@ -29,7 +84,8 @@ public class Book {
     public Book(String title, String author, String description) {
         this.title = title;
         this.author = author;
-        this.description = description;
+        setDescription(description);
+        this.fingerprint = fingerprintOf(title, author);
     }
 
     public Book(){
@@ -50,6 +106,7 @@ public class Book {
 
     public void setTitle(String title) {
         this.title = title;
+        this.fingerprint = fingerprintOf(title, author);
     }
 
     public String getAuthor() {
@@ -58,14 +115,81 @@ public class Book {
 
     public void setAuthor(String author) {
         this.author = author;
+        this.fingerprint = fingerprintOf(title, author);
     }
 
+    /**
+     * Возвращает текст описания. Для загруженной из БД книги обращается к ленивой связи
+     */
+    @NotBlank(message = "Description must be not null")
+    @JsonView(Views.Detail.class)
     public String getDescription() {
-        return description;
+        return descriptionData == null ? null : descriptionData.getText();
     }
 
+    /**
+     * Задает текст описания. Для книги без описания создается новая запись.
+     * Существующая запись обновляется на месте и только если текст изменился
+     */
     public void setDescription(String description) {
-        this.description = description;
+        if (description == null) {
+            this.descriptionData = null;
+        } else if (descriptionData == null) {
+            this.descriptionData = new BookDescription(description);
+        } else if (!description.equals(descriptionData.getText())) {
+            descriptionData.setText(description);
+        }
+    }
+
+    public BookDescription getDescriptionData() {
+        return descriptionData;
+    }
+
+    public void setDescriptionData(BookDescription descriptionData) {
+        this.descriptionData = descriptionData;
+    }
+
+    /**
+     * Идентификатор записи описания. Только для чтения в JPA, используется реактивным вариантом API
+     */
+    public Long getDescriptionId() {
+        return descriptionId;
+    }
+
+    public void setDescriptionId(Long descriptionId) {
+        this.descriptionId = descriptionId;
+    }
+
+    /**
+     * Отпечаток книги, пересчитывается при изменении названия или автора
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Вычисляет отпечаток книги: SHA-256 от названия и автора, приведенных к нижнему регистру,
+     * без крайних пробелов и с одиночными пробелами между словами
+     * @return отпечаток в шестнадцатеричном виде или null, если название или автор не заданы
+     */
+    public static String fingerprintOf(String title, String author) {
+        if (title == null || author == null) {
+            return null;
+        }
+        String normalized = normalize(title) + '\u001F' + normalize(author);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String normalize(String value) {
+        return Normalizer.normalize(value, Normalizer.Form.NFKC)
+                .strip()
+                .replaceAll("\\s+", " ")
+                .toLowerCase(Locale.ROOT);
     }
 
     @Override
@@ -74,7 +198,6 @@ public class Book {
                 "id=" + id +
                 ", title='" + title + '\'' +
                 ", author='" + author + '\'' +
-                ", description='" + description + '\'' +
                 '}';
     }
 
@@ -0,0 +1,132 @@
+package com.urfu.library.model;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import org.hibernate.Length;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Описание книги, хранящееся отдельно от книги.
+ * Загружается лениво, только когда описание действительно нужно (просмотр одной книги).
+ * Описания длиннее {@link #COMPRESSION_THRESHOLD} байт хранятся сжатыми (deflate),
+ * если сжатие уменьшает размер. Распаковка выполняется при чтении текста.
+ */
+@Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "book-description")
+public class BookDescription {
+    /**
+     * Минимальный размер описания в байтах UTF-8, начиная с которого оно сжимается
+     */
+    public static final int COMPRESSION_THRESHOLD = 512;
+
+    @Id
+    @org.springframework.data.annotation.Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private Long id;
+    @Column(nullable = false, length = Length.LONG32)
+    private byte[] content;
+    private boolean compressed;
+
+    /**
+     * Создает описание из текста, сжимая его при необходимости
+     */
+    public BookDescription(String text) {
+        setText(text);
+    }
+
+    public BookDescription() {
+        super();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Возвращает текст описания, распаковывая его при необходимости
+     */
+    public String getText() {
+        return new String(compressed ? inflate(content) : content, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Заменяет текст описания, сжимая его при необходимости
+     */
+    public void setText(String text) {
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        if (raw.length >= COMPRESSION_THRESHOLD) {
+            byte[] deflated = deflate(raw);
+            if (deflated.length < raw.length) {
+                this.content = deflated;
+                this.compressed = true;
+                return;
+            }
+        }
+        this.content = raw;
+        this.compressed = false;
+    }
+
+    /**
+     * Возвращает размер описания в хранилище в байтах
+     */
+    public int getStoredSize() {
+        return content.length;
+    }
+
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream output = new ByteArrayOutputStream(raw.length / 2);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] deflated) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(deflated);
+            ByteArrayOutputStream output = new ByteArrayOutputStream(deflated.length * 3);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated book description");
+                }
+                output.write(buffer, 0, length);
+            }
+            return output.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupted book description", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
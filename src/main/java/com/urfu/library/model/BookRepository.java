@@ -1,9 +1,18 @@
 package com.urfu.library.model;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Репозиторий сущности Book для взаимодействия с базой данных
@@ -11,7 +20,49 @@ import java.util.List;
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
     /**
-     * Поиск книг по заданному заголовку
+     * Поиск книг по заданному заголовку.
+     * Результат хранится в кэше запросов (регион book-by-title) и сбрасывается Hibernate
+     * при любом изменении таблицы книг.
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "book-by-title")
+    })
     List<Book> findByTitle(String title);
+
+    /**
+     * Проверка наличия книги с заданным отпечатком (название, автор)
+     */
+    boolean existsByFingerprint(String fingerprint);
+
+    /**
+     * Поток отпечатков всех книг. Должен читаться внутри транзакции.
+     * Строки читаются из курсора порциями, а не загружаются в память целиком
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select b.fingerprint from Book b where b.fingerprint is not null")
+    Stream<String> streamAllFingerprints();
+
+    /**
+     * Книги без отпечатка (добавленные до его появления) с идентификатором больше заданного,
+     * по возрастанию идентификатора
+     */
+    @Query("select b from Book b where b.fingerprint is null and b.id > :afterId order by b.id")
+    List<Book> findWithoutFingerprint(@Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Записывает отпечаток книге, если ни у одной другой книги такого отпечатка нет
+     * @return 1, если отпечаток записан, или 0, если в каталоге уже есть книга с таким отпечатком
+     */
+    @Modifying
+    @Transactional
+    @Query("update Book b set b.fingerprint = :fingerprint where b.id = :id"
+            + " and not exists (select other.id from Book other where other.fingerprint = :fingerprint)")
+    int assignFingerprint(@Param("id") Long id, @Param("fingerprint") String fingerprint);
+
+    /**
+     * Количество книг по каждому автору. Используется только для сверки счетчиков статистики
+     */
+    @Query("select new com.urfu.library.model.AuthorCount(b.author, count(b)) from Book b group by b.author")
+    List<AuthorCount> countByAuthor();
 }
@@ -0,0 +1,18 @@
+package com.urfu.library.model;
+
+import java.util.Map;
+
+/**
+ * Статистика каталога книг
+ * @param total общее количество книг
+ * @param byAuthor количество книг по авторам
+ * @param createdLastMinute количество добавленных книг за последнюю минуту
+ * @param updatedLastMinute количество обновленных книг за последнюю минуту
+ * @param deletedLastMinute количество удаленных книг за последнюю минуту
+ */
+public record BookStats(long total,
+                        Map<String, Long> byAuthor,
+                        long createdLastMinute,
+                        long updatedLastMinute,
+                        long deletedLastMinute) {
+}
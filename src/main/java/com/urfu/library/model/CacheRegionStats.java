@@ -0,0 +1,12 @@
+package com.urfu.library.model;
+
+/**
+ * Статистика региона кэша второго уровня Hibernate
+ * @param region название региона
+ * @param hits количество попаданий
+ * @param misses количество промахов
+ * @param puts количество записей в регион
+ * @param hitRatio доля попаданий среди всех обращений
+ */
+public record CacheRegionStats(String region, long hits, long misses, long puts, double hitRatio) {
+}
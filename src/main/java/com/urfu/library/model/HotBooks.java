@@ -0,0 +1,11 @@
+package com.urfu.library.model;
+
+import java.util.List;
+
+/**
+ * Самые часто запрашиваемые книги и названия
+ * @param books идентификаторы книг по убыванию количества обращений
+ * @param titles названия по убыванию количества обращений
+ */
+public record HotBooks(List<HotKey> books, List<HotKey> titles) {
+}
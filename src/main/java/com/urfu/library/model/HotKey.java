@@ -0,0 +1,9 @@
+package com.urfu.library.model;
+
+/**
+ * Часто запрашиваемый ключ
+ * @param key ключ (идентификатор или название книги)
+ * @param count оценка количества обращений
+ */
+public record HotKey(String key, long count) {
+}
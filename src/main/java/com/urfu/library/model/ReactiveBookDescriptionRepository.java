@@ -0,0 +1,11 @@
+package com.urfu.library.model;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Неблокирующий репозиторий описаний книг поверх R2DBC
+ */
+@Repository
+public interface ReactiveBookDescriptionRepository extends R2dbcRepository<BookDescription, Long> {
+}
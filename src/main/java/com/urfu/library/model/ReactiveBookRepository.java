@@ -0,0 +1,24 @@
+package com.urfu.library.model;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Неблокирующий репозиторий сущности Book поверх R2DBC.
+ * Результаты запросов отдаются потоком по мере чтения курсора БД, с учетом backpressure подписчика.
+ */
+@Repository
+public interface ReactiveBookRepository extends R2dbcRepository<Book, Long> {
+    /**
+     * Поиск книг по заданному заголовку
+     */
+    Flux<Book> findByTitle(String title);
+
+    /**
+     * Количество книг по каждому автору. Используется только для сверки счетчиков статистики
+     */
+    @Query("select author, count(*) as count from book group by author")
+    Flux<AuthorCount> countByAuthor();
+}
@@ -0,0 +1,81 @@
+package com.urfu.library.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Фильтр Блума по отпечаткам книг.
+ * Отрицательный ответ гарантирует, что книги с таким отпечатком нет в каталоге,
+ * поэтому проверка существования в БД нужна только при положительном ответе.
+ * Потокобезопасен без блокировок.
+ */
+@Component
+public class BookFingerprintFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedBooks ожидаемое количество книг в каталоге
+     * @param falsePositiveRate допустимая доля ложноположительных ответов
+     */
+    public BookFingerprintFilter(@Value("${library.books.expected-count:1000000}") long expectedBooks,
+                                 @Value("${library.books.duplicate-false-positive-rate:0.01}") double falsePositiveRate) {
+        if (expectedBooks <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Expected books must be positive and false positive rate must be in (0, 1)");
+        }
+        long bits = (long) Math.ceil(-expectedBooks * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.words = new AtomicLongArray((int) Math.min(Integer.MAX_VALUE, (bits + 63) / 64));
+        this.bitCount = (long) words.length() * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedBooks * Math.log(2)));
+    }
+
+    /**
+     * Проверяет, могла ли книга с таким отпечатком быть добавлена ранее
+     * @param fingerprint отпечаток книги
+     * @return false, если книги с таким отпечатком точно нет
+     */
+    public boolean mightContain(String fingerprint) {
+        long h1 = firstHash(fingerprint);
+        long h2 = secondHash(fingerprint);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Добавляет отпечаток книги в фильтр
+     * @param fingerprint отпечаток книги
+     */
+    public void put(String fingerprint) {
+        long h1 = firstHash(fingerprint);
+        long h2 = secondHash(fingerprint);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long word;
+            while (((word = words.get(index)) & mask) == 0 && !words.compareAndSet(index, word, word | mask)) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * Отпечаток уже является SHA-256, поэтому его части используются как независимые хэши
+     */
+    private static long firstHash(String fingerprint) {
+        return Long.parseUnsignedLong(fingerprint, 0, 16, 16);
+    }
+
+    private static long secondHash(String fingerprint) {
+        return Long.parseUnsignedLong(fingerprint, 16, 32, 16) | 1;
+    }
+}
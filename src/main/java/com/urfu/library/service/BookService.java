@@ -2,23 +2,51 @@ package com.urfu.library.service;
 
 import com.urfu.library.model.Book;
 import com.urfu.library.model.BookRepository;
+import com.urfu.library.model.BookStats;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.stream.Stream;
 
 /**
  * Сервис для управления книгами в библиотеке.
  * Предоставляет методы для получения, обновления и удаления книг.
+ * Все изменения проходят через Hibernate, поэтому кэш второго уровня и кэш запросов
+ * по названию обновляются и сбрасываются автоматически.
  */
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class BookService {
 
     private final BookRepository bookRepository;
+    private final BookFingerprintFilter fingerprintFilter;
+    private final BookStatistics bookStatistics;
 
     @Autowired
-    public BookService(BookRepository bookRepository) {
+    public BookService(BookRepository bookRepository, BookFingerprintFilter fingerprintFilter, BookStatistics bookStatistics) {
         this.bookRepository = bookRepository;
+        this.fingerprintFilter = fingerprintFilter;
+        this.bookStatistics = bookStatistics;
+    }
+
+    /**
+     * Заполняет фильтр дубликатов отпечатками книг, уже сохраненных в БД.
+     * Выполняется при старте приложения, до приема запросов.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    @Transactional(readOnly = true)
+    public void loadFingerprints() {
+        try (Stream<String> fingerprints = bookRepository.streamAllFingerprints()) {
+            fingerprints.forEach(fingerprintFilter::put);
+        }
     }
 
     /**
@@ -29,25 +57,50 @@ public class BookService {
         return bookRepository.findAll();
     }
 
+    /**
+     * Сверяет счетчики статистики с БД одним запросом с группировкой по автору.
+     * Выполняется при старте приложения и по расписанию.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    @Scheduled(fixedDelayString = "${library.stats.reconcile-interval:PT10M}",
+            initialDelayString = "${library.stats.reconcile-interval:PT10M}")
+    public void reconcileStatistics() {
+        BookStatistics.Snapshot before = bookStatistics.snapshot();
+        bookStatistics.reconcile(before, bookRepository.countByAuthor());
+    }
+
     /**
      * Обновить информацию о книге.
+     * Описание перезаписывается, только если его текст изменился.
      *
      * @param bookId      Идентификатор книги, которую нужно обновить.
      * @param newBookData Новый объект книги с обновленной информацией.
      * @return Объект Optional, содержащий обновленную книгу, если книга с заданным идентификатором найдена
      * @throws NoSuchElementException если книга отсутствует в системе
+     * @throws DuplicateBookException если в каталоге уже есть другая книга с таким названием и автором
      */
+    @Transactional
     public Optional<Book> updateBookInfo(Long bookId, Book newBookData) {
         Optional<Book> existingBook = bookRepository.findById(bookId);
         if (existingBook.isEmpty()) {
             throw new NoSuchElementException("Book to update not found");
         }
         Book book = existingBook.get();
+        String oldAuthor = book.getAuthor();
         book.setTitle(newBookData.getTitle());
         book.setAuthor(newBookData.getAuthor());
         book.setDescription(newBookData.getDescription());
 
-        bookRepository.save(book);
+        try {
+            bookRepository.saveAndFlush(book);
+        } catch (DataIntegrityViolationException e) {
+            if (DuplicateBookException.isFingerprintViolation(e)) {
+                throw new DuplicateBookException();
+            }
+            throw e;
+        }
+        fingerprintFilter.put(book.getFingerprint());
+        bookStatistics.recordUpdated(oldAuthor, book.getAuthor());
         return Optional.of(book);
     }
 
@@ -62,15 +115,32 @@ public class BookService {
         if (book.isEmpty())
             throw new NoSuchElementException("Book to delete not found");
         bookRepository.deleteById(bookId);
+        bookStatistics.recordDeleted(book.get().getAuthor());
     }
 
     /**
-     * Сохраняет книгу в базу данных
+     * Сохраняет книгу в базу данных.
+     * Наличие книги с тем же отпечатком проверяется в БД, только если фильтр дубликатов не исключил такую возможность.
+     * Окончательно дубликаты отсекает уникальный индекс по отпечатку.
      * @param book книга для сохранения
+     * @throws DuplicateBookException если в каталоге уже есть книга с таким названием и автором
      * @author Alexandr Filatov
      */
     public void saveBook(Book book) {
-        bookRepository.save(book);
+        String fingerprint = book.getFingerprint();
+        if (fingerprintFilter.mightContain(fingerprint) && bookRepository.existsByFingerprint(fingerprint)) {
+            throw new DuplicateBookException();
+        }
+        try {
+            bookRepository.save(book);
+        } catch (DataIntegrityViolationException e) {
+            if (DuplicateBookException.isFingerprintViolation(e)) {
+                throw new DuplicateBookException();
+            }
+            throw e;
+        }
+        fingerprintFilter.put(fingerprint);
+        bookStatistics.recordCreated(book.getAuthor());
     }
 
     /**
@@ -83,6 +153,19 @@ public class BookService {
         return bookRepository.findById(bookId);
     }
 
+    /**
+     * Загружает книгу вместе с описанием, чтобы обе записи попали в кэш второго уровня.
+     * Описание связано с книгой лениво, поэтому оно загружается явно, пока открыта транзакция.
+     * @param bookId ID книги
+     * @return true, если книга найдена
+     */
+    @Transactional(readOnly = true)
+    public boolean prefetchBook(Long bookId) {
+        Optional<Book> book = bookRepository.findById(bookId);
+        book.ifPresent(found -> Hibernate.initialize(found.getDescriptionData()));
+        return book.isPresent();
+    }
+
     /**
      * Возвращает список книг по названию
      * @param title название книги
@@ -91,4 +174,13 @@ public class BookService {
     public List<Book> getBooksByTitle(String title) {
         return bookRepository.findByTitle(title);
     }
+
+    /**
+     * Возвращает статистику каталога.
+     * Значения берутся из счетчиков, обновляемых при записи, без подсчета строк в БД
+     * @return общее количество книг, количество по авторам и число записей за последнюю минуту
+     */
+    public BookStats getStatistics() {
+        return bookStatistics.getStats();
+    }
 }
@@ -0,0 +1,181 @@
+package com.urfu.library.service;
+
+import com.urfu.library.model.AuthorCount;
+import com.urfu.library.model.BookStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Счетчики статистики каталога, обновляемые при каждой записи через {@link BookService}
+ * или, в реактивном режиме, через {@link ReactiveBookService}.
+ * Счетчики разбиты на ячейки (LongAdder), поэтому одновременные записи не конкурируют за один счетчик.
+ * При старте и по расписанию сервис книг сверяет счетчики с БД, чтобы исправить расхождения
+ * из-за записей в обход сервиса.
+ */
+@Component
+public class BookStatistics {
+
+    private final LongAdder total = new LongAdder();
+    private final Map<String, LongAdder> byAuthor = new ConcurrentHashMap<>();
+    private Set<String> zeroAuthors = Set.of();
+    private final SlidingWindowCounter created;
+    private final SlidingWindowCounter updated;
+    private final SlidingWindowCounter deleted;
+
+    @Autowired
+    public BookStatistics() {
+        this(Clock.systemUTC());
+    }
+
+    BookStatistics(Clock clock) {
+        this.created = new SlidingWindowCounter(clock);
+        this.updated = new SlidingWindowCounter(clock);
+        this.deleted = new SlidingWindowCounter(clock);
+    }
+
+    /**
+     * Учитывает добавление книги
+     * @param author автор добавленной книги
+     */
+    public void recordCreated(String author) {
+        total.increment();
+        authorCounter(author).increment();
+        created.increment();
+    }
+
+    /**
+     * Учитывает обновление книги
+     * @param oldAuthor автор до обновления
+     * @param newAuthor автор после обновления
+     */
+    public void recordUpdated(String oldAuthor, String newAuthor) {
+        if (oldAuthor != null && !oldAuthor.equals(newAuthor)) {
+            authorCounter(oldAuthor).decrement();
+            authorCounter(newAuthor).increment();
+        }
+        updated.increment();
+    }
+
+    /**
+     * Учитывает удаление книги
+     * @param author автор удаленной книги
+     */
+    public void recordDeleted(String author) {
+        total.decrement();
+        authorCounter(author).decrement();
+        deleted.increment();
+    }
+
+    /**
+     * Возвращает текущую статистику каталога без обращения к БД
+     */
+    public BookStats getStats() {
+        Map<String, Long> authors = new TreeMap<>();
+        byAuthor.forEach((author, count) -> {
+            long sum = count.sum();
+            if (sum > 0) {
+                authors.put(author, sum);
+            }
+        });
+        return new BookStats(total.sum(), authors, created.sum(), updated.sum(), deleted.sum());
+    }
+
+    /**
+     * Запоминает значения счетчиков. Вызывается непосредственно перед запросом к БД для сверки
+     * @return снимок счетчиков для {@link #reconcile}
+     */
+    public Snapshot snapshot() {
+        Map<String, Long> authors = new HashMap<>();
+        byAuthor.forEach((author, counter) -> authors.put(author, counter.sum()));
+        return new Snapshot(total.sum(), authors);
+    }
+
+    /**
+     * Сверяет счетчики с БД: количество по авторам приводится к значениям из БД, общее количество - к их сумме.
+     * Оба значения берутся из одного запроса, поэтому согласованы между собой.
+     * Счетчики корректируются на разницу, а не обнуляются, поэтому во время сверки они остаются доступными.
+     * Счетчик, изменившийся во время запроса, в этот раз не корректируется: неизвестно, попала ли запись
+     * в снимок БД, поэтому он будет сверен в следующий раз.
+     * <p>
+     * Сверка не блокирует записи, поэтому после нее возможно расхождение на единицу на каждую запись,
+     * выполненную одновременно с ней: запись, попавшая в снимок БД, но учтенная в счетчике уже после
+     * проверки в {@link #correct}, будет учтена дважды. Такое расхождение исправляет следующая сверка.
+     * <p>
+     * Счетчик автора, которого нет в БД, сначала обнуляется и удаляется, только если остался нулевым
+     * к следующей сверке, чтобы счетчики удаленных авторов не накапливались. Запись по автору, выполненная
+     * в момент удаления его счетчика, может потеряться; ее тоже восстановит следующая сверка.
+     * @param before снимок счетчиков, сделанный перед запросом к БД
+     * @param authorCounts количество книг по каждому автору из БД
+     */
+    public synchronized void reconcile(Snapshot before, List<AuthorCount> authorCounts) {
+        Map<String, Long> authorsBefore = before.byAuthor();
+        Map<String, Long> authors = new HashMap<>();
+        long count = 0;
+        for (AuthorCount authorCount : authorCounts) {
+            count += authorCount.count();
+            if (authorCount.author() != null) {
+                authors.put(authorCount.author(), authorCount.count());
+            }
+        }
+
+        correct(total, before.total(), count);
+        authors.forEach((author, authorCount) ->
+                correct(authorCounter(author), authorsBefore.getOrDefault(author, 0L), authorCount));
+        Set<String> zeroed = new HashSet<>();
+        authorsBefore.forEach((author, authorBefore) -> {
+            LongAdder counter = byAuthor.get(author);
+            if (counter != null && !authors.containsKey(author)) {
+                correct(counter, authorBefore, 0);
+                if (counter.sum() != 0) {
+                    return;
+                }
+                if (authorBefore == 0 && zeroAuthors.contains(author)) {
+                    byAuthor.remove(author, counter);
+                } else {
+                    zeroed.add(author);
+                }
+            }
+        });
+        zeroAuthors = zeroed;
+    }
+
+    /**
+     * Значения счетчиков перед запросом к БД для сверки
+     * @param total общее количество книг
+     * @param byAuthor количество книг по авторам
+     */
+    public record Snapshot(long total, Map<String, Long> byAuthor) {
+    }
+
+    /**
+     * Количество авторов, для которых заведены счетчики, включая нулевые
+     */
+    int authorCounters() {
+        return byAuthor.size();
+    }
+
+    /**
+     * Приводит счетчик к значению из БД, если он не менялся с момента перед запросом к БД.
+     * Проверка и корректировка не атомарны: увеличение счетчика между ними не теряется,
+     * но может быть учтено повторно, если запись уже попала в снимок БД
+     */
+    private static void correct(LongAdder counter, long before, long actual) {
+        if (counter.sum() == before) {
+            counter.add(actual - before);
+        }
+    }
+
+    private LongAdder authorCounter(String author) {
+        return byAuthor.computeIfAbsent(author, key -> new LongAdder());
+    }
+}
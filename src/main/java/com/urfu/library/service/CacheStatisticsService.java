@@ -0,0 +1,48 @@
+package com.urfu.library.service;
+
+import com.urfu.library.model.CacheRegionStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Сервис статистики кэша второго уровня Hibernate.
+ * Позволяет оценить долю попаданий по каждому региону.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CacheStatisticsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public CacheStatisticsService(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Возвращает статистику всех регионов кэша второго уровня, включая регионы кэша запросов
+     * @return статистика регионов, упорядоченная по названию региона
+     */
+    public List<CacheRegionStats> getRegionStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<CacheRegionStats> result = new ArrayList<>();
+        for (String region : new TreeSet<>(Arrays.asList(statistics.getSecondLevelCacheRegionNames()))) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            long hits = regionStatistics.getHitCount();
+            long misses = regionStatistics.getMissCount();
+            double hitRatio = hits + misses == 0 ? 0.0 : (double) hits / (hits + misses);
+            result.add(new CacheRegionStats(region, hits, misses, regionStatistics.getPutCount(), hitRatio));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,134 @@
+package com.urfu.library.service;
+
+import com.urfu.library.model.Book;
+import com.urfu.library.model.BookRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Приводит данные каталога, сохраненные предыдущими версиями приложения, к текущей модели.
+ * Выполняется при старте: после обновления схемы Hibernate (ddl-auto=update),
+ * но до того, как приложение начнет принимать запросы. Повторный запуск ничего не меняет.
+ * <p>
+ * Выполняемые шаги:
+ * <ol>
+ *     <li>Описания из столбца book.description переносятся в таблицу book_description (со сжатием,
+ *     как при обычном сохранении), после чего столбец удаляется. Hibernate при ddl-auto=update столбцы
+ *     не удаляет, а прежний столбец объявлен NOT NULL, поэтому без переноса добавление книг невозможно.
+ *     Перенос идет порциями в отдельных транзакциях; если запуск прервется, следующий продолжит
+ *     с книг, описания которых еще не перенесены.</li>
+ *     <li>Книгам без отпечатка, добавленным до появления защиты от дубликатов, вычисляется отпечаток.
+ *     Если в каталоге уже есть книга с тем же названием и автором, отпечаток не записывается,
+ *     а дубликат выводится в журнал для ручного разбора.</li>
+ * </ol>
+ * Выполняется только в блокирующем режиме, поэтому после обновления версии приложение нужно
+ * хотя бы один раз запустить без профиля reactive.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CatalogMigration implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogMigration.class);
+    private static final int BATCH_SIZE = 500;
+
+    private final BookRepository bookRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public CatalogMigration(BookRepository bookRepository, JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        migrateDescriptions();
+        backfillFingerprints();
+    }
+
+    /**
+     * Переносит описания из прежнего столбца book.description в таблицу book_description и удаляет столбец
+     * @return количество перенесенных описаний
+     */
+    public int migrateDescriptions() {
+        Integer columns = jdbcTemplate.queryForObject("select count(*) from information_schema.columns"
+                + " where lower(table_name) = 'book' and lower(column_name) = 'description'"
+                + " and table_schema = current_schema", Integer.class);
+        if (columns == null || columns == 0) {
+            return 0;
+        }
+        int migrated = 0;
+        List<LegacyDescription> descriptions;
+        while (!(descriptions = jdbcTemplate.query("select id, description from book"
+                        + " where description is not null and description_id is null order by id limit ?",
+                (row, rowNumber) -> new LegacyDescription(row.getLong(1), row.getString(2)), BATCH_SIZE)).isEmpty()) {
+            List<LegacyDescription> batch = descriptions;
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(description ->
+                    bookRepository.findById(description.bookId())
+                            .ifPresent(book -> book.setDescription(description.text()))));
+            migrated += batch.size();
+        }
+        jdbcTemplate.execute("alter table book drop column description");
+        log.info("Moved {} book descriptions to book_description and dropped book.description", migrated);
+        return migrated;
+    }
+
+    /**
+     * Вычисляет отпечатки книгам, у которых его нет
+     * @return количество книг, получивших отпечаток
+     */
+    public int backfillFingerprints() {
+        int assigned = 0;
+        long afterId = Long.MIN_VALUE;
+        List<Book> books;
+        while (!(books = bookRepository.findWithoutFingerprint(afterId, Limit.of(BATCH_SIZE))).isEmpty()) {
+            for (Book book : books) {
+                afterId = book.getId();
+                String fingerprint = Book.fingerprintOf(book.getTitle(), book.getAuthor());
+                if (fingerprint == null) {
+                    continue;
+                }
+                if (assignFingerprint(book.getId(), fingerprint)) {
+                    assigned++;
+                } else {
+                    log.warn("{} has the same title and author as another book, its fingerprint is left empty", book);
+                }
+            }
+        }
+        if (assigned > 0) {
+            log.info("Assigned fingerprints to {} books", assigned);
+        }
+        return assigned;
+    }
+
+    /**
+     * Описание книги из прежнего столбца book.description
+     */
+    record LegacyDescription(Long bookId, String text) {
+    }
+
+    private boolean assignFingerprint(Long bookId, String fingerprint) {
+        try {
+            return bookRepository.assignFingerprint(bookId, fingerprint) > 0;
+        } catch (DataIntegrityViolationException e) {
+            if (DuplicateBookException.isFingerprintViolation(e)) {
+                return false;
+            }
+            throw e;
+        }
+    }
+}
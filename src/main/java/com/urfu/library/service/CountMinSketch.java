@@ -0,0 +1,86 @@
+package com.urfu.library.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-min sketch для приблизительного подсчета частоты ключей в фиксированном объеме памяти.
+ * Оценка никогда не бывает меньше реальной частоты.
+ * Потокобезопасен без блокировок.
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final AtomicLongArray counters;
+
+    /**
+     * @param depth количество строк (независимых хэш-функций)
+     * @param width количество счетчиков в строке
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth <= 0 || width <= 0) {
+            throw new IllegalArgumentException("Depth and width must be positive");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counters = new AtomicLongArray(depth * width);
+    }
+
+    /**
+     * Увеличивает счетчик ключа
+     * @param key ключ
+     * @param count величина увеличения
+     * @return оценка частоты ключа после увеличения
+     */
+    public long add(String key, long count) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.addAndGet(index(row, h1, h2), count));
+        }
+        return estimate;
+    }
+
+    /**
+     * Возвращает оценку частоты ключа
+     * @param key ключ
+     */
+    public long estimate(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, h1, h2)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Уменьшает все счетчики вдвое, чтобы давние обращения постепенно переставали влиять на оценку.
+     * Увеличения, выполняемые одновременно с уменьшением, могут попасть как до него, так и после
+     */
+    public void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, value -> value >> 1);
+        }
+    }
+
+    private int index(int row, int h1, int h2) {
+        return row * width + Math.floorMod(h1 + row * h2, width);
+    }
+
+    /**
+     * 64-битный FNV-1a, половины которого используются как две независимые хэш-функции
+     */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
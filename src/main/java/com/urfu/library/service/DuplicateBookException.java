@@ -0,0 +1,31 @@
+package com.urfu.library.service;
+
+import com.urfu.library.model.Book;
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
+import org.hibernate.exception.ConstraintViolationException;
+
+/**
+ * Исключение, выбрасываемое при попытке добавить книгу с уже существующими названием и автором
+ */
+public class DuplicateBookException extends RuntimeException {
+    public DuplicateBookException() {
+        super("Book with the same title and author already exists");
+    }
+
+    /**
+     * Проверяет, вызвана ли ошибка записи нарушением уникального индекса по отпечатку книги.
+     * Остальные нарушения ограничений (NOT NULL, внешние ключи и т.п.) дубликатом не считаются
+     * @param e ошибка записи из JPA или R2DBC
+     */
+    public static boolean isFingerprintViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return Book.FINGERPRINT_INDEX.equalsIgnoreCase(violation.getConstraintName());
+            }
+            if (cause instanceof R2dbcDataIntegrityViolationException violation) {
+                return violation.getMessage() != null && violation.getMessage().contains(Book.FINGERPRINT_INDEX);
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,70 @@
+package com.urfu.library.service;
+
+import com.urfu.library.model.HotKey;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Top-K самых частых ключей по оценкам count-min sketch.
+ * Ключи ниже порога вытеснения отсекаются без блокировки, поэтому после прогрева
+ * блокировка берется только при смене состава top-K.
+ */
+public class HeavyHitters {
+
+    private final int capacity;
+    private final Map<String, Long> entries = new ConcurrentHashMap<>();
+    private volatile long threshold;
+
+    /**
+     * @param capacity количество отслеживаемых ключей
+     */
+    public HeavyHitters(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Учитывает новую оценку частоты ключа
+     * @param key ключ
+     * @param estimate оценка частоты ключа
+     */
+    public void offer(String key, long estimate) {
+        if (entries.computeIfPresent(key, (k, current) -> Math.max(current, estimate)) != null || estimate <= threshold) {
+            return;
+        }
+        synchronized (this) {
+            entries.merge(key, estimate, Math::max);
+            if (entries.size() > capacity) {
+                entries.entrySet().stream()
+                        .min(Map.Entry.comparingByValue())
+                        .ifPresent(min -> entries.remove(min.getKey()));
+            }
+            threshold = entries.size() < capacity ? 0 : entries.values().stream().min(Long::compare).orElse(0L);
+        }
+    }
+
+    /**
+     * Уменьшает частоты всех ключей вдвое, ключи с нулевой частотой удаляются.
+     * Вызывается вместе с {@link CountMinSketch#halve()}, чтобы оценки оставались сопоставимыми
+     */
+    public synchronized void halve() {
+        entries.replaceAll((key, count) -> count >> 1);
+        entries.values().removeIf(count -> count == 0);
+        threshold = entries.size() < capacity ? 0 : entries.values().stream().min(Long::compare).orElse(0L);
+    }
+
+    /**
+     * Возвращает отслеживаемые ключи по убыванию частоты
+     */
+    public List<HotKey> top() {
+        return entries.entrySet().stream()
+                .map(entry -> new HotKey(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingLong(HotKey::count).reversed())
+                .toList();
+    }
+}
@@ -0,0 +1,63 @@
+package com.urfu.library.service;
+
+import com.urfu.library.model.HotBooks;
+import com.urfu.library.model.HotKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Прогревает кэш второго уровня и буферы БД самыми часто читаемыми книгами из прошлого запуска.
+ * Книги загружаются вместе с описаниями, которые отдает просмотр одной книги.
+ * Выполняется до того, как приложение сообщит о готовности принимать запросы.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class HotBookPrefetcher implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(HotBookPrefetcher.class);
+
+    private final HotBookTracker hotBookTracker;
+    private final BookService bookService;
+
+    @Autowired
+    public HotBookPrefetcher(HotBookTracker hotBookTracker, BookService bookService) {
+        this.hotBookTracker = hotBookTracker;
+        this.bookService = bookService;
+    }
+
+    /**
+     * Запрашивает сохраненные книги и названия. Некорректные ключи и ошибки отдельных запросов
+     * выводятся в журнал и не прерывают прогрев и запуск приложения
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        HotBooks hotBooks = hotBookTracker.load();
+        int books = 0;
+        for (HotKey hotKey : hotBooks.books()) {
+            try {
+                if (bookService.prefetchBook(Long.valueOf(hotKey.key()))) {
+                    books++;
+                }
+            } catch (NumberFormatException e) {
+                log.warn("Skipping invalid hot book id '{}'", hotKey.key());
+            } catch (RuntimeException e) {
+                log.warn("Failed to prefetch book {}", hotKey.key(), e);
+            }
+        }
+        int titles = 0;
+        for (HotKey hotKey : hotBooks.titles()) {
+            try {
+                bookService.getBooksByTitle(hotKey.key());
+                titles++;
+            } catch (RuntimeException e) {
+                log.warn("Failed to prefetch books titled '{}'", hotKey.key(), e);
+            }
+        }
+        log.info("Prefetched {} hot books and {} hot titles", books, titles);
+    }
+}
@@ -0,0 +1,157 @@
+package com.urfu.library.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.urfu.library.model.HotBooks;
+import com.urfu.library.model.HotKey;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Отслеживает самые часто читаемые книги и названия.
+ * Частоты считаются count-min sketch, самые частые ключи хранятся в top-K.
+ * Частоты периодически уменьшаются вдвое, поэтому top-K отражает то, что читают сейчас, а не за все время.
+ * Top-K периодически сохраняется в локальный файл, чтобы после перезапуска прогреть по нему кэши.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class HotBookTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(HotBookTracker.class);
+
+    private final CountMinSketch bookSketch;
+    private final CountMinSketch titleSketch;
+    private final HeavyHitters hotBooks;
+    private final HeavyHitters hotTitles;
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param topK количество отслеживаемых книг и названий
+     * @param sketchWidth количество счетчиков в строке count-min sketch
+     * @param file файл для сохранения top-K между перезапусками
+     */
+    @Autowired
+    public HotBookTracker(@Value("${library.hot-books.top-k:100}") int topK,
+                          @Value("${library.hot-books.sketch-width:4096}") int sketchWidth,
+                          @Value("${library.hot-books.file:hot-books.json}") Path file,
+                          ObjectMapper objectMapper) {
+        this.bookSketch = new CountMinSketch(4, sketchWidth);
+        this.titleSketch = new CountMinSketch(4, sketchWidth);
+        this.hotBooks = new HeavyHitters(topK);
+        this.hotTitles = new HeavyHitters(topK);
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Учитывает успешное чтение книги по идентификатору
+     */
+    public void recordBook(Long bookId) {
+        record(bookSketch, hotBooks, String.valueOf(bookId));
+    }
+
+    /**
+     * Учитывает поиск книг по названию, нашедший хотя бы одну книгу
+     */
+    public void recordTitle(String title) {
+        record(titleSketch, hotTitles, title);
+    }
+
+    /**
+     * Возвращает текущие самые часто читаемые книги и названия
+     */
+    public HotBooks getHotBooks() {
+        return new HotBooks(hotBooks.top(), hotTitles.top());
+    }
+
+    /**
+     * Сохраняет top-K в файл. Запись атомарна: файл либо старый, либо новый целиком
+     */
+    @Scheduled(fixedDelayString = "${library.hot-books.save-interval:PT5M}",
+            initialDelayString = "${library.hot-books.save-interval:PT5M}")
+    public void save() {
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            objectMapper.writeValue(temp.toFile(), getHotBooks());
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to save hot books to {}", file, e);
+        }
+    }
+
+    /**
+     * Сохраняет top-K при остановке приложения, чтобы не потерять обращения с последнего сохранения
+     * по расписанию. Пустой top-K (например, если запуск прервался до прогрева) сохраненный файл не перезаписывает
+     */
+    @PreDestroy
+    public void saveOnShutdown() {
+        HotBooks hotBooks = getHotBooks();
+        if (!hotBooks.books().isEmpty() || !hotBooks.titles().isEmpty()) {
+            save();
+        }
+    }
+
+    /**
+     * Уменьшает вдвое частоты в count-min sketch и top-K
+     */
+    @Scheduled(fixedDelayString = "${library.hot-books.decay-interval:PT5M}",
+            initialDelayString = "${library.hot-books.decay-interval:PT5M}")
+    public void decay() {
+        bookSketch.halve();
+        hotBooks.halve();
+        titleSketch.halve();
+        hotTitles.halve();
+    }
+
+    /**
+     * Загружает сохраненный top-K и заполняет им текущий top-K.
+     * Счетчики count-min sketch не увеличиваются: сохраненные частоты не складываются с новыми обращениями
+     * и, как и они, уменьшаются со временем
+     * @return сохраненный top-K без пустых ключей или пустой, если файла нет или он поврежден
+     */
+    public HotBooks load() {
+        if (!Files.exists(file)) {
+            return new HotBooks(List.of(), List.of());
+        }
+        try {
+            HotBooks saved = objectMapper.readValue(file.toFile(), HotBooks.class);
+            if (saved == null) {
+                return new HotBooks(List.of(), List.of());
+            }
+            HotBooks valid = new HotBooks(validKeys(saved.books()), validKeys(saved.titles()));
+            valid.books().forEach(hotKey -> hotBooks.offer(hotKey.key(), hotKey.count()));
+            valid.titles().forEach(hotKey -> hotTitles.offer(hotKey.key(), hotKey.count()));
+            return valid;
+        } catch (IOException e) {
+            log.warn("Failed to load hot books from {}", file, e);
+            return new HotBooks(List.of(), List.of());
+        }
+    }
+
+    private static List<HotKey> validKeys(List<HotKey> keys) {
+        if (keys == null) {
+            return List.of();
+        }
+        return keys.stream()
+                .filter(hotKey -> hotKey != null && hotKey.key() != null && hotKey.count() > 0)
+                .toList();
+    }
+
+    private static void record(CountMinSketch sketch, HeavyHitters heavyHitters, String key) {
+        heavyHitters.offer(key, sketch.add(key, 1));
+    }
+}
@@ -0,0 +1,194 @@
+package com.urfu.library.service;
+
+import com.urfu.library.model.Book;
+import com.urfu.library.model.BookDescription;
+import com.urfu.library.model.BookStats;
+import com.urfu.library.model.ReactiveBookDescriptionRepository;
+import com.urfu.library.model.ReactiveBookRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Неблокирующий сервис для управления книгами в библиотеке.
+ * Повторяет контракт {@link BookService}, но работает через R2DBC.
+ * Описание книги хранится в отдельной таблице и читается только при получении одной книги.
+ * Записи обновляют счетчики статистики каталога так же, как в {@link BookService}.
+ * Активен только при запуске приложения в реактивном режиме (профиль reactive).
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookService {
+
+    private final ReactiveBookRepository bookRepository;
+    private final ReactiveBookDescriptionRepository descriptionRepository;
+    private final BookStatistics bookStatistics;
+
+    @Autowired
+    public ReactiveBookService(ReactiveBookRepository bookRepository,
+                               ReactiveBookDescriptionRepository descriptionRepository,
+                               BookStatistics bookStatistics) {
+        this.bookRepository = bookRepository;
+        this.descriptionRepository = descriptionRepository;
+        this.bookStatistics = bookStatistics;
+    }
+
+    /**
+     * Сверяет счетчики статистики с БД одним запросом с группировкой по автору.
+     * Выполняется при старте приложения и по расписанию.
+     */
+    @Scheduled(fixedDelayString = "${library.stats.reconcile-interval:PT10M}")
+    public Mono<Void> reconcileStatistics() {
+        return Mono.defer(() -> {
+            BookStatistics.Snapshot before = bookStatistics.snapshot();
+            return bookRepository.countByAuthor().collectList()
+                    .doOnNext(authorCounts -> bookStatistics.reconcile(before, authorCounts));
+        }).then();
+    }
+
+    /**
+     * Получить поток всех книг в библиотеке, без описаний.
+     * Или пустой поток, в случае отсутствия книг.
+     */
+    public Flux<Book> getAllBooks() {
+        return bookRepository.findAll();
+    }
+
+    /**
+     * Обновить информацию о книге.
+     * Описание обновляется на месте и только если его текст изменился.
+     *
+     * @param bookId      Идентификатор книги, которую нужно обновить.
+     * @param newBookData Новый объект книги с обновленной информацией.
+     * @return Mono с обновленной книгой
+     * или ошибкой NoSuchElementException, если книга отсутствует в системе,
+     * или ошибкой DuplicateBookException, если другая книга уже имеет такие название и автора
+     */
+    @Transactional
+    public Mono<Book> updateBookInfo(Long bookId, Book newBookData) {
+        return bookRepository.findById(bookId)
+                .switchIfEmpty(Mono.error(() -> new NoSuchElementException("Book to update not found")))
+                .flatMap(book -> {
+                    String oldAuthor = book.getAuthor();
+                    book.setTitle(newBookData.getTitle());
+                    book.setAuthor(newBookData.getAuthor());
+                    return updateDescription(book, newBookData.getDescription())
+                            .flatMap(this::saveWithDescription)
+                            .doOnNext(saved -> bookStatistics.recordUpdated(oldAuthor, saved.getAuthor()));
+                })
+                .onErrorMap(DuplicateBookException::isFingerprintViolation, e -> new DuplicateBookException());
+    }
+
+    /**
+     * Удалить книгу из библиотеки вместе с ее описанием.
+     *
+     * @param bookId Идентификатор книги, которую нужно удалить.
+     * @return Mono, завершающийся после удаления,
+     * или ошибкой NoSuchElementException, если книги нет в системе
+     */
+    @Transactional
+    public Mono<Void> deleteBook(Long bookId) {
+        return bookRepository.findById(bookId)
+                .switchIfEmpty(Mono.error(() -> new NoSuchElementException("Book to delete not found")))
+                .flatMap(book -> bookRepository.deleteById(bookId)
+                        .then(deleteDescription(book.getDescriptionId()))
+                        .doOnSuccess(deleted -> bookStatistics.recordDeleted(book.getAuthor())));
+    }
+
+    /**
+     * Сохраняет книгу и ее описание в базу данных
+     * @param book книга для сохранения
+     * @return Mono с сохраненной книгой
+     * или ошибкой DuplicateBookException, если книга с такими названием и автором уже есть
+     */
+    @Transactional
+    public Mono<Book> saveBook(Book book) {
+        return saveWithDescription(book)
+                .doOnNext(saved -> bookStatistics.recordCreated(saved.getAuthor()))
+                .onErrorMap(DuplicateBookException::isFingerprintViolation, e -> new DuplicateBookException());
+    }
+
+    /**
+     * Возвращает книгу по ID вместе с описанием
+     * @param bookId ID книги
+     * @return Mono с найденной книгой или пустой Mono
+     */
+    public Mono<Book> getBookById(Long bookId) {
+        return bookRepository.findById(bookId)
+                .flatMap(book -> book.getDescriptionId() == null
+                        ? Mono.just(book)
+                        : descriptionRepository.findById(book.getDescriptionId())
+                                .map(description -> {
+                                    book.setDescriptionData(description);
+                                    return book;
+                                })
+                                .defaultIfEmpty(book));
+    }
+
+    /**
+     * Возвращает поток книг по названию, без описаний
+     * @param title название книги
+     * @return найденные книги
+     */
+    public Flux<Book> getBooksByTitle(String title) {
+        return bookRepository.findByTitle(title);
+    }
+
+    /**
+     * Возвращает статистику каталога из счетчиков, без обращения к БД
+     */
+    public BookStats getStatistics() {
+        return bookStatistics.getStats();
+    }
+
+    /**
+     * Сохраняет новое описание книги, если оно задано, отдельной записью, затем саму книгу со ссылкой на него
+     */
+    private Mono<Book> saveWithDescription(Book book) {
+        BookDescription description = book.getDescriptionData();
+        if (description == null) {
+            return bookRepository.save(book);
+        }
+        return descriptionRepository.save(description)
+                .flatMap(saved -> {
+                    book.setDescriptionId(saved.getId());
+                    return bookRepository.save(book);
+                });
+    }
+
+    /**
+     * Обновляет существующее описание книги на месте, если текст изменился.
+     * Если описания еще нет, оно будет сохранено новой записью вместе с книгой
+     */
+    private Mono<Book> updateDescription(Book book, String text) {
+        if (text == null) {
+            return Mono.just(book);
+        }
+        if (book.getDescriptionId() == null) {
+            book.setDescription(text);
+            return Mono.just(book);
+        }
+        return descriptionRepository.findById(book.getDescriptionId())
+                .flatMap(description -> {
+                    if (text.equals(description.getText())) {
+                        return Mono.just(book);
+                    }
+                    description.setText(text);
+                    return descriptionRepository.save(description).thenReturn(book);
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    book.setDescription(text);
+                    return book;
+                }));
+    }
+
+    private Mono<Void> deleteDescription(Long descriptionId) {
+        return descriptionId == null ? Mono.empty() : descriptionRepository.deleteById(descriptionId);
+    }
+}
@@ -0,0 +1,61 @@
+package com.urfu.library.service;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Счетчик событий за последнюю минуту с посекундной гранулярностью.
+ * Каждая секунда хранится в отдельной корзине, корзина обнуляется при переходе на новую секунду.
+ * Секунда и количество событий корзины хранятся в одном long (секунда в старших 32 битах, количество
+ * в младших) и меняются одним CAS, поэтому обнуление корзины не теряет одновременные события.
+ */
+public class SlidingWindowCounter {
+
+    private static final int WINDOW_SECONDS = 60;
+    private static final long COUNT_MASK = 0xFFFF_FFFFL;
+
+    private final Clock clock;
+    private final long originSecond;
+    private final AtomicLongArray buckets = new AtomicLongArray(WINDOW_SECONDS);
+
+    public SlidingWindowCounter(Clock clock) {
+        this.clock = clock;
+        this.originSecond = clock.millis() / 1000;
+    }
+
+    /**
+     * Учитывает одно событие в текущей секунде
+     */
+    public void increment() {
+        long second = currentSecond();
+        int index = (int) (second % WINDOW_SECONDS);
+        long bucket;
+        long updated;
+        do {
+            bucket = buckets.get(index);
+            updated = bucket >>> 32 == second ? bucket + 1 : second << 32 | 1;
+        } while (!buckets.compareAndSet(index, bucket, updated));
+    }
+
+    /**
+     * Возвращает количество событий за последние 60 секунд
+     */
+    public long sum() {
+        long now = currentSecond();
+        long sum = 0;
+        for (int i = 0; i < WINDOW_SECONDS; i++) {
+            long bucket = buckets.get(i);
+            if (now - (bucket >>> 32) < WINDOW_SECONDS) {
+                sum += bucket & COUNT_MASK;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Секунда относительно создания счетчика, чтобы она помещалась в 32 бита
+     */
+    private long currentSecond() {
+        return Math.max(0, clock.millis() / 1000 - originSecond);
+    }
+}
@@ -0,0 +1,81 @@
+package com.urfu.library.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.urfu.library.model.Book;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение размера и скорости кодирования списка книг в JSON, CBOR и Smile.
+ * Список кодируется так же, как его отдают эндпоинты списков: в представлении {@link Book.Views.Summary}, без описаний.
+ * Размер ответа в байтах печатается перед измерением каждого формата.
+ * Не входит в модульные тесты. Порядок запуска:
+ * <ol>
+ *     <li>{@code mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/test-classpath.txt}</li>
+ *     <li>{@code java -cp target/test-classes:target/classes:$(cat target/test-classpath.txt) org.openjdk.jmh.Main BinaryFormatsBenchmark}</li>
+ * </ol>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryFormatsBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param("500")
+    private int catalogSize;
+
+    @Param("10")
+    private int authorCount;
+
+    private ObjectMapper mapper;
+    private ObjectWriter writer;
+    private List<Book> catalog;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> BinaryFormatsConfig.cborObjectMapper(Jackson2ObjectMapperBuilder.json());
+            case "smile" -> BinaryFormatsConfig.smileObjectMapper(Jackson2ObjectMapperBuilder.json());
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        catalog = new ArrayList<>();
+        for (long i = 0; i < catalogSize; i++) {
+            Book book = new Book("Title " + i, "Author " + (i % authorCount), "Description of book number " + i);
+            book.setId(i);
+            catalog.add(book);
+        }
+        writer = mapper.writerWithView(Book.Views.Summary.class);
+        encoded = writer.writeValueAsBytes(catalog);
+        System.out.printf("%s: %d bytes for %d books%n", format, encoded.length, catalogSize);
+    }
+
+    /**
+     * Кодирование списка книг
+     */
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(catalog);
+    }
+
+    /**
+     * Декодирование списка книг
+     */
+    @Benchmark
+    public List<Book> decode() throws IOException {
+        return mapper.readValue(encoded, new TypeReference<>() {});
+    }
+}
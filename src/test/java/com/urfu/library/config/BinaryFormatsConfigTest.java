@@ -0,0 +1,68 @@
+package com.urfu.library.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.urfu.library.model.Book;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Класс реализует модульные тесты для бинарных форматов ответа.
+ * Сравнивает размер каталога в CBOR и Smile с размером в JSON. Каталог кодируется так же,
+ * как его отдают списки книг: в представлении {@link Book.Views.Summary}, без описаний.
+ */
+public class BinaryFormatsConfigTest {
+
+    private ObjectMapper jsonMapper;
+    private List<Book> catalog;
+
+    @BeforeEach
+    public void setUp() {
+        jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+        catalog = new ArrayList<>();
+        for (long i = 0; i < 500; i++) {
+            Book book = new Book("Title " + i, "Author " + (i % 10), "Description of book number " + i);
+            book.setId(i);
+            catalog.add(book);
+        }
+    }
+
+    /**
+     * Тестирует, что CBOR со stringref компактнее JSON и декодируется без потерь
+     */
+    @Test
+    public void testCborSmallerThanJson() throws Exception {
+        ObjectMapper cborMapper = BinaryFormatsConfig.cborObjectMapper(Jackson2ObjectMapperBuilder.json());
+
+        byte[] json = jsonMapper.writerWithView(Book.Views.Summary.class).writeValueAsBytes(catalog);
+        byte[] cbor = cborMapper.writerWithView(Book.Views.Summary.class).writeValueAsBytes(catalog);
+
+        Assertions.assertTrue(cbor.length < json.length);
+        List<Book> decoded = cborMapper.readValue(cbor, new TypeReference<>() {});
+        Assertions.assertEquals(catalog.size(), decoded.size());
+        Assertions.assertEquals("Author 9", decoded.get(499).getAuthor());
+        Assertions.assertNull(decoded.get(499).getDescription());
+    }
+
+    /**
+     * Тестирует, что Smile с разделяемыми строками компактнее JSON и декодируется без потерь
+     */
+    @Test
+    public void testSmileSmallerThanJson() throws Exception {
+        ObjectMapper smileMapper = BinaryFormatsConfig.smileObjectMapper(Jackson2ObjectMapperBuilder.json());
+
+        byte[] json = jsonMapper.writerWithView(Book.Views.Summary.class).writeValueAsBytes(catalog);
+        byte[] smile = smileMapper.writerWithView(Book.Views.Summary.class).writeValueAsBytes(catalog);
+
+        Assertions.assertTrue(smile.length < json.length);
+        List<Book> decoded = smileMapper.readValue(smile, new TypeReference<>() {});
+        Assertions.assertEquals(catalog.size(), decoded.size());
+        Assertions.assertEquals("Author 9", decoded.get(499).getAuthor());
+        Assertions.assertNull(decoded.get(499).getDescription());
+    }
+}
@@ -0,0 +1,70 @@
+package com.urfu.library.controller;
+
+import com.urfu.library.model.CacheRegionStats;
+import com.urfu.library.model.HotBooks;
+import com.urfu.library.model.HotKey;
+import com.urfu.library.service.CacheStatisticsService;
+import com.urfu.library.service.HotBookTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+/**
+ * Класс реализует модульные тесты для служебного контроллера
+ */
+public class AdminControllerTest {
+
+    @Mock
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Mock
+    private HotBookTracker hotBookTracker;
+
+    @InjectMocks
+    private AdminController adminController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(adminController).build();
+    }
+
+    /**
+     * Тестирует получение статистики регионов кэша.
+     * Ожидает статус 200 OK и статистику в теле ответа
+     */
+    @Test
+    public void testGetCacheStatistics_Success() throws Exception {
+        Mockito.when(cacheStatisticsService.getRegionStatistics())
+                .thenReturn(List.of(new CacheRegionStats("book", 3, 1, 1, 0.75)));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/admin/cache"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].region").value("book"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].hitRatio").value(0.75));
+        Mockito.verify(cacheStatisticsService, Mockito.times(1)).getRegionStatistics();
+    }
+
+    /**
+     * Тестирует получение самых часто читаемых книг и названий.
+     * Ожидает статус 200 OK и top-K в теле ответа
+     */
+    @Test
+    public void testGetHotBooks_Success() throws Exception {
+        Mockito.when(hotBookTracker.getHotBooks())
+                .thenReturn(new HotBooks(List.of(new HotKey("1", 10)), List.of(new HotKey("Test Title", 5))));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/admin/hot"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.books[0].key").value("1"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.titles[0].count").value(5));
+    }
+}
@@ -0,0 +1,167 @@
+package com.urfu.library.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Нагрузочный тест чтения через /api/book для сравнения блокирующего (MVC и JPA)
+ * и реактивного (WebFlux и R2DBC, профиль reactive) вариантов API.
+ * Обращается по HTTP к уже запущенному приложению и не входит в модульные тесты.
+ * <p>
+ * Порядок запуска:
+ * <ol>
+ *     <li>Собрать приложение, тесты и classpath тестов:
+ *     {@code mvn -B package -DskipTests && mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/test-classpath.txt}</li>
+ *     <li>Запустить приложение в блокирующем режиме (DB_URL, DB_USERNAME, DB_PASSWORD указывают на тестовую БД):
+ *     {@code java -jar target/library-0.0.1-SNAPSHOT.jar}</li>
+ *     <li>С другой машины или хотя бы с другими ядрами запустить тест:
+ *     {@code java -cp target/test-classes:target/classes:$(cat target/test-classpath.txt) org.openjdk.jmh.Main BookApiBenchmark -p baseUrl=http://host:8787 -t 64 -rf csv -rff mvc.csv}</li>
+ *     <li>Остановить приложение и запустить его в реактивном режиме с той же БД
+ *     (R2DBC_URL, например r2dbc:postgresql://host:5432/library):
+ *     {@code java -jar target/library-0.0.1-SNAPSHOT.jar --spring.profiles.active=reactive}</li>
+ *     <li>Повторить тест с теми же параметрами и {@code -rff reactive.csv}.</li>
+ * </ol>
+ * Схема создается Hibernate, поэтому первый запуск на новой БД должен быть в блокирующем режиме.
+ * Перед измерением тест добавляет в каталог недостающие из {@code catalogSize} тестовых книг;
+ * книги, добавленные предыдущим запуском, повторно не создаются, поэтому оба варианта API читают одни и те же данные.
+ * Количество одновременных клиентов задается параметром JMH {@code -t}; для сравнения
+ * стоит повторить тест при нескольких значениях (например, 16, 64 и 256).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 20)
+@Fork(1)
+public class BookApiBenchmark {
+
+    private static final String TITLE_PREFIX = "Benchmark book ";
+
+    @Param("http://localhost:8787")
+    private String baseUrl;
+
+    @Param("1000")
+    private int catalogSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private HttpClient client;
+    private List<Long> bookIds;
+    private List<String> titles;
+
+    /**
+     * Заполняет каталог тестовыми книгами и запоминает их идентификаторы и названия
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        Set<String> existingTitles = new HashSet<>();
+        for (JsonNode book : readCatalog()) {
+            existingTitles.add(book.get("title").asText());
+        }
+        String description = "Description of a benchmark book. ".repeat(5);
+        for (int i = 0; i < catalogSize; i++) {
+            if (existingTitles.contains(TITLE_PREFIX + i)) {
+                continue;
+            }
+            String body = objectMapper.writeValueAsString(new BookPayload(
+                    TITLE_PREFIX + i, "Benchmark author " + (i % 50), description));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/book"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status != 201) {
+                throw new IllegalStateException("Failed to create benchmark book, status " + status);
+            }
+        }
+
+        bookIds = new ArrayList<>();
+        titles = new ArrayList<>();
+        for (JsonNode book : readCatalog()) {
+            String title = book.get("title").asText();
+            if (title.startsWith(TITLE_PREFIX)) {
+                bookIds.add(book.get("id").asLong());
+                titles.add(title);
+            }
+        }
+        if (bookIds.isEmpty()) {
+            throw new IllegalStateException("No benchmark books found in the catalog");
+        }
+    }
+
+    /**
+     * Список всех книг
+     */
+    @Benchmark
+    public byte[] getAllBooks() throws IOException, InterruptedException {
+        return get("/api/book/all");
+    }
+
+    /**
+     * Случайная книга по идентификатору, вместе с описанием
+     */
+    @Benchmark
+    public byte[] getBookById() throws IOException, InterruptedException {
+        return get("/api/book/" + bookIds.get(ThreadLocalRandom.current().nextInt(bookIds.size())));
+    }
+
+    /**
+     * Поиск книг по случайному названию
+     */
+    @Benchmark
+    public byte[] getBooksByTitle() throws IOException, InterruptedException {
+        String title = titles.get(ThreadLocalRandom.current().nextInt(titles.size()));
+        return get("/api/book?title=" + URLEncoder.encode(title, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Текущий каталог; пустой каталог API возвращает со статусом 204
+     */
+    private JsonNode readCatalog() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/book/all"))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() == 204) {
+            return objectMapper.createArrayNode();
+        }
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET /api/book/all returned status " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private byte[] get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " returned status " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    /**
+     * Тело запроса на добавление книги
+     */
+    private record BookPayload(String title, String author, String description) {
+    }
+}
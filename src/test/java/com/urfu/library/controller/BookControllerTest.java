@@ -1,12 +1,23 @@
 package com.urfu.library.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.urfu.library.config.BinaryFormatsConfig;
 import com.urfu.library.controller.advice.BookControllerAdvice;
 import com.urfu.library.model.Book;
+import com.urfu.library.model.BookStats;
 import com.urfu.library.service.BookService;
+import com.urfu.library.service.DuplicateBookException;
+import com.urfu.library.service.HotBookTracker;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
@@ -22,17 +33,28 @@ public class BookControllerTest {
     @Mock
     private BookService bookService;
 
+    @Mock
+    private HotBookTracker hotBookTracker;
+
     @InjectMocks
     private BookController bookController;
 
     private MockMvc mockMvc;
+    private ObjectMapper cborMapper;
+    private ObjectMapper smileMapper;
     private Long bookId;
     private Book book;
 
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
-        mockMvc = MockMvcBuilders.standaloneSetup(bookController).setControllerAdvice(BookControllerAdvice.class).build();
+        cborMapper = BinaryFormatsConfig.cborObjectMapper(Jackson2ObjectMapperBuilder.json());
+        smileMapper = BinaryFormatsConfig.smileObjectMapper(Jackson2ObjectMapperBuilder.json());
+        mockMvc = MockMvcBuilders.standaloneSetup(bookController).setControllerAdvice(BookControllerAdvice.class)
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(),
+                        new MappingJackson2CborHttpMessageConverter(cborMapper),
+                        new MappingJackson2SmileHttpMessageConverter(smileMapper))
+                .build();
 
         bookId = 1L;
         book = new Book("Test Title", "Test Author", "Test Description");
@@ -47,7 +69,9 @@ public class BookControllerTest {
         Mockito.when(bookService.getAllBooks()).thenReturn(Arrays.asList(book));
 
         mockMvc.perform(MockMvcRequestBuilders.get("/api/book/all", bookId))
-                .andExpect(MockMvcResultMatchers.status().isOk());
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].title").value("Test Title"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].description").doesNotExist());
         Mockito.verify(bookService, Mockito.times(1)).getAllBooks();
     }
 
@@ -64,6 +88,22 @@ public class BookControllerTest {
         Mockito.verify(bookService, Mockito.times(1)).getAllBooks();
     }
 
+    /**
+     * Тестирует получение статистики каталога.
+     * Ожидается статус 200 OK и значения счетчиков в теле ответа.
+     */
+    @Test
+    public void testGetStatistics() throws Exception {
+        Mockito.when(bookService.getStatistics()).thenReturn(new BookStats(2, Map.of("Test Author", 2L), 1, 0, 0));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/book/stats"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.total").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.byAuthor['Test Author']").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.createdLastMinute").value(1));
+        Mockito.verify(bookService, Mockito.never()).getBookById(ArgumentMatchers.any(Long.class));
+    }
+
     /**
      * Тестирует успешное обновление информации о книге.
      * Ожидается, что при корректных данных будет возвращен статус 200 OK.
@@ -156,6 +196,19 @@ public class BookControllerTest {
         Mockito.verify(bookService, Mockito.times(1)).saveBook(book);
     }
 
+    /**
+     * Тестирует добавление дубликата книги.
+     * Ожидает возвращение статуса 409 Conflict
+     */
+    @Test
+    public void testSaveBook_Conflict() throws Exception {
+        Mockito.doThrow(DuplicateBookException.class).when(bookService).saveBook(book);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/book").contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"title\": \"Test Title\", \"author\": \"Test Author\", \"description\": \"Test Description\" }"))
+                .andExpect(MockMvcResultMatchers.status().isConflict());
+    }
+
     /**
      * Тестирует валидацию при добавлении книги.
      * В случае нулевого значения хотя бы одного из полей отдает 422 Unprocessable Entity
@@ -185,11 +238,12 @@ public class BookControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.description").value("Test Description"));
 
         Mockito.verify(bookService, Mockito.times(1)).getBookById(bookId);
+        Mockito.verify(hotBookTracker, Mockito.times(1)).recordBook(bookId);
     }
 
     /**
      * Тестирует получение несуществующей книги по Id.
-     * Ожидает возвращение статуса 404 Not Found
+     * Ожидает возвращение статуса 404 Not Found, книга не учитывается как часто читаемая
      * @author Alexandr Filatov
      */
     @Test
@@ -199,6 +253,7 @@ public class BookControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isNotFound());
 
         Mockito.verify(bookService, Mockito.times(1)).getBookById(bookId);
+        Mockito.verify(hotBookTracker, Mockito.never()).recordBook(bookId);
     }
 
     /**
@@ -211,14 +266,16 @@ public class BookControllerTest {
         Mockito.when(bookService.getBooksByTitle(book.getTitle())).thenReturn(List.of(book));
         mockMvc.perform(MockMvcRequestBuilders.get("/api/book?title={title}", book.getTitle()))
                 .andExpect(MockMvcResultMatchers.status().isOk()).andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(MockMvcResultMatchers.jsonPath("$..title").value("Test Title"));
+                .andExpect(MockMvcResultMatchers.jsonPath("$..title").value("Test Title"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].description").doesNotExist());
 
         Mockito.verify(bookService, Mockito.times(1)).getBooksByTitle(book.getTitle());
+        Mockito.verify(hotBookTracker, Mockito.times(1)).recordTitle(book.getTitle());
     }
 
     /**
      * Тестирует поиск по названию несуществующей книги.
-     * Ожидает возвращение статуса 404 Not Found
+     * Ожидает возвращение статуса 404 Not Found, название не учитывается как часто запрашиваемое
      * @author Alexandr Filatov
      */
     @Test
@@ -228,5 +285,57 @@ public class BookControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isNotFound());
 
         Mockito.verify(bookService, Mockito.times(1)).getBooksByTitle(book.getTitle());
+        Mockito.verify(hotBookTracker, Mockito.never()).recordTitle(book.getTitle());
+    }
+
+    /**
+     * Тестирует получение всех книг в формате CBOR.
+     * Ожидает статус 200 Ok и ответ, который декодируется обратно в список книг
+     */
+    @Test
+    public void testGetAllBooks_Cbor() throws Exception {
+        Mockito.when(bookService.getAllBooks()).thenReturn(List.of(book, book));
+        MediaType cbor = MediaType.parseMediaType("application/cbor");
+
+        byte[] body = mockMvc.perform(MockMvcRequestBuilders.get("/api/book/all").accept(cbor))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(cbor))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<Book> books = cborMapper.readValue(body, new TypeReference<>() {});
+        Assertions.assertEquals(2, books.size());
+        Assertions.assertEquals("Test Author", books.get(1).getAuthor());
+    }
+
+    /**
+     * Тестирует поиск книги по названию в формате Smile.
+     * Ожидает статус 200 Ok и ответ, который декодируется обратно в список книг
+     */
+    @Test
+    public void testGetBooksByTitle_Smile() throws Exception {
+        Mockito.when(bookService.getBooksByTitle(book.getTitle())).thenReturn(List.of(book));
+        MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+
+        byte[] body = mockMvc.perform(MockMvcRequestBuilders.get("/api/book?title={title}", book.getTitle()).accept(smile))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(smile))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<Book> books = smileMapper.readValue(body, new TypeReference<>() {});
+        Assertions.assertEquals("Test Title", books.getFirst().getTitle());
+    }
+
+    /**
+     * Тестирует добавление книги, переданной в формате CBOR.
+     * Ожидает возвращение статуса 201 Created
+     */
+    @Test
+    public void testSaveBook_Cbor() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/book")
+                        .contentType(MediaType.parseMediaType("application/cbor"))
+                        .content(cborMapper.writeValueAsBytes(book)))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+
+        Mockito.verify(bookService, Mockito.times(1)).saveBook(book);
     }
 }
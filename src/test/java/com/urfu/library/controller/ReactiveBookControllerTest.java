@@ -0,0 +1,223 @@
+package com.urfu.library.controller;
+
+import com.urfu.library.controller.advice.ReactiveBookControllerAdvice;
+import com.urfu.library.model.Book;
+import com.urfu.library.model.BookStats;
+import com.urfu.library.service.ReactiveBookService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Класс реализует модульные тесты для реактивного контроллера книг
+ */
+public class ReactiveBookControllerTest {
+
+    @Mock
+    private ReactiveBookService bookService;
+
+    @InjectMocks
+    private ReactiveBookController bookController;
+
+    private WebTestClient webTestClient;
+    private Long bookId;
+    private Book book;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        webTestClient = WebTestClient.bindToController(bookController)
+                .controllerAdvice(new ReactiveBookControllerAdvice())
+                .build();
+
+        bookId = 1L;
+        book = new Book("Test Title", "Test Author", "Test Description");
+    }
+
+    /**
+     * Тестирует успешное получение всех книг.
+     * Ожидается статус 200 OK и все книги потока в теле ответа, включая первую.
+     */
+    @Test
+    public void testGetAllBooks_Success() {
+        Book secondBook = new Book("Second Title", "Test Author", "Test Description");
+        Mockito.when(bookService.getAllBooks()).thenReturn(Flux.just(book, secondBook));
+
+        webTestClient.get().uri("/api/book/all").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].title").isEqualTo("Test Title")
+                .jsonPath("$[1].title").isEqualTo("Second Title")
+                .jsonPath("$[0].description").doesNotExist();
+        Mockito.verify(bookService, Mockito.times(1)).getAllBooks();
+    }
+
+    /**
+     * Тестирует получение статистики каталога.
+     * Ожидается статус 200 OK и значения счетчиков в теле ответа, путь /stats не принимается за идентификатор книги.
+     */
+    @Test
+    public void testGetStatistics() {
+        Mockito.when(bookService.getStatistics()).thenReturn(new BookStats(2, Map.of("Test Author", 2L), 1, 0, 0));
+
+        webTestClient.get().uri("/api/book/stats").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.total").isEqualTo(2)
+                .jsonPath("$.byAuthor['Test Author']").isEqualTo(2)
+                .jsonPath("$.createdLastMinute").isEqualTo(1);
+        Mockito.verify(bookService, Mockito.never()).getBookById(ArgumentMatchers.any(Long.class));
+    }
+
+    /**
+     * Тестирует запрос при отсутствии книг в БД.
+     * Ожидается статус 204 No Content.
+     */
+    @Test
+    public void testGetAllBooks_NotFound() {
+        Mockito.when(bookService.getAllBooks()).thenReturn(Flux.empty());
+
+        webTestClient.get().uri("/api/book/all").exchange()
+                .expectStatus().isNoContent();
+        Mockito.verify(bookService, Mockito.times(1)).getAllBooks();
+    }
+
+    /**
+     * Тестирует успешное обновление информации о книге.
+     * Ожидается статус 200 OK.
+     */
+    @Test
+    public void testUpdateBookInfo_Success() {
+        Mockito.when(bookService.updateBookInfo(ArgumentMatchers.any(Long.class), ArgumentMatchers.any(Book.class)))
+                .thenReturn(Mono.just(book));
+
+        webTestClient.put().uri("/api/book/{bookId}", bookId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{ \"title\": \"Updated Title\", \"author\": \"Updated Author\", \"description\": \"Updated Description\" }")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    /**
+     * Тестирует обработку некорректных данных для обновления книги.
+     * Ожидается статус 422 Unprocessable Entity.
+     */
+    @Test
+    public void testUpdateBookInfo_UnprocessableEntity() {
+        webTestClient.put().uri("/api/book/{bookId}", bookId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{ \"title\": null, \"author\": \"Updated Author\", \"description\": \"Updated Description\" }")
+                .exchange()
+                .expectStatus().isEqualTo(422);
+
+        Mockito.verify(bookService, Mockito.never()).updateBookInfo(ArgumentMatchers.any(Long.class), ArgumentMatchers.any(Book.class));
+    }
+
+    /**
+     * Тестирует сценарий, когда книга для обновления не найдена.
+     * Ожидается статус 404 Not Found.
+     */
+    @Test
+    public void testUpdateBookInfo_NotFound() {
+        Mockito.when(bookService.updateBookInfo(ArgumentMatchers.any(Long.class), ArgumentMatchers.any(Book.class)))
+                .thenReturn(Mono.error(new NoSuchElementException("Book to update not found")));
+
+        webTestClient.put().uri("/api/book/{bookId}", bookId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{ \"title\": \"Updated Title\", \"author\": \"Updated Author\", \"description\": \"Updated Description\" }")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    /**
+     * Тестирует сценарий, когда книга для удаления не найдена.
+     * Ожидается статус 404 Not Found.
+     */
+    @Test
+    public void testDeleteBook_NotFound() {
+        Mockito.when(bookService.deleteBook(bookId))
+                .thenReturn(Mono.error(new NoSuchElementException("Book to delete not found")));
+
+        webTestClient.delete().uri("/api/book/{bookId}", bookId).exchange()
+                .expectStatus().isNotFound();
+    }
+
+    /**
+     * Тестирует валидацию при добавлении книги.
+     * В случае нулевого значения хотя бы одного из полей отдает 422 Unprocessable Entity
+     */
+    @Test
+    public void testSaveBook_UnprocessableEntity() {
+        webTestClient.post().uri("/api/book")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{ \"title\": null, \"author\": \"Test Author\", \"description\": \"Test Description\" }")
+                .exchange()
+                .expectStatus().isEqualTo(422);
+
+        Mockito.verify(bookService, Mockito.never()).saveBook(ArgumentMatchers.any(Book.class));
+    }
+
+    /**
+     * Тестирует успешное добавление новой книги.
+     * Ожидает возвращение статуса 201 Created
+     */
+    @Test
+    public void testSaveBook_Success() {
+        Mockito.when(bookService.saveBook(book)).thenReturn(Mono.just(book));
+
+        webTestClient.post().uri("/api/book")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{ \"title\": \"Test Title\", \"author\": \"Test Author\", \"description\": \"Test Description\" }")
+                .exchange()
+                .expectStatus().isCreated();
+
+        Mockito.verify(bookService, Mockito.times(1)).saveBook(book);
+    }
+
+    /**
+     * Тестирует получение книги по Id.
+     * Ожидает статус 200 Ok и книгу вместе с описанием
+     */
+    @Test
+    public void testGetBook_Success() {
+        Mockito.when(bookService.getBookById(bookId)).thenReturn(Mono.just(book));
+
+        webTestClient.get().uri("/api/book/{bookId}", bookId).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Test Title")
+                .jsonPath("$.description").isEqualTo("Test Description");
+    }
+
+    /**
+     * Тестирует получение несуществующей книги по Id.
+     * Ожидает возвращение статуса 404 Not Found
+     */
+    @Test
+    public void testGetBook_NotFound() {
+        Mockito.when(bookService.getBookById(bookId)).thenReturn(Mono.empty());
+
+        webTestClient.get().uri("/api/book/{bookId}", bookId).exchange()
+                .expectStatus().isNotFound();
+    }
+
+    /**
+     * Тестирует поиск по названию несуществующей книги.
+     * Ожидает возвращение статуса 404 Not Found
+     */
+    @Test
+    public void testGetBooksByTitle_NotFound() {
+        Mockito.when(bookService.getBooksByTitle(book.getTitle())).thenReturn(Flux.empty());
+
+        webTestClient.get().uri("/api/book?title={title}", book.getTitle()).exchange()
+                .expectStatus().isNotFound();
+    }
+}
@@ -0,0 +1,53 @@
+package com.urfu.library.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+/**
+ * Класс реализует модульные тесты для хранения описания книги
+ */
+public class BookDescriptionTest {
+
+    /**
+     * Тестирует, что короткое описание хранится без сжатия
+     */
+    @Test
+    public void testShortDescriptionNotCompressed() {
+        BookDescription description = new BookDescription("Test Description");
+
+        Assertions.assertFalse(description.isCompressed());
+        Assertions.assertEquals("Test Description", description.getText());
+    }
+
+    /**
+     * Тестирует, что длинное описание сжимается и распаковывается без потерь
+     */
+    @Test
+    public void testLongDescriptionCompressed() {
+        String text = "Длинное описание книги, которое повторяется. ".repeat(100);
+
+        BookDescription description = new BookDescription(text);
+
+        Assertions.assertTrue(description.isCompressed());
+        Assertions.assertTrue(description.getStoredSize() < text.length() / 4);
+        Assertions.assertEquals(text, description.getText());
+    }
+
+    /**
+     * Тестирует, что несжимаемое описание хранится как есть
+     */
+    @Test
+    public void testIncompressibleDescriptionStoredRaw() {
+        StringBuilder text = new StringBuilder();
+        Random random = new Random(42);
+        for (int i = 0; i < 600; i++) {
+            text.append((char) (0x4E00 + random.nextInt(0x5000)));
+        }
+
+        BookDescription description = new BookDescription(text.toString());
+
+        Assertions.assertEquals(text.toString(), description.getText());
+    }
+}
@@ -0,0 +1,54 @@
+package com.urfu.library.service;
+
+import com.urfu.library.model.Book;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Класс реализует модульные тесты для фильтра дубликатов книг
+ */
+public class BookFingerprintFilterTest {
+
+    /**
+     * Тестирует отсутствие ложноотрицательных ответов
+     */
+    @Test
+    public void testNoFalseNegatives() {
+        BookFingerprintFilter filter = new BookFingerprintFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(Book.fingerprintOf("Title " + i, "Author"));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            Assertions.assertTrue(filter.mightContain(Book.fingerprintOf("Title " + i, "Author")));
+        }
+    }
+
+    /**
+     * Тестирует, что доля ложноположительных ответов близка к заданной
+     */
+    @Test
+    public void testFalsePositiveRate() {
+        BookFingerprintFilter filter = new BookFingerprintFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(Book.fingerprintOf("Title " + i, "Author"));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(Book.fingerprintOf("Other " + i, "Author"))) {
+                falsePositives++;
+            }
+        }
+        Assertions.assertTrue(falsePositives < 200, "False positives: " + falsePositives);
+    }
+
+    /**
+     * Тестирует, что отпечаток не зависит от регистра и лишних пробелов
+     */
+    @Test
+    public void testFingerprintNormalization() {
+        Assertions.assertEquals(Book.fingerprintOf("War and Peace", "Leo Tolstoy"),
+                Book.fingerprintOf("  war  AND peace", "LEO\tTOLSTOY "));
+        Assertions.assertNotEquals(Book.fingerprintOf("War and Peace", "Leo Tolstoy"),
+                Book.fingerprintOf("War and Peace", "Someone Else"));
+    }
+}
@@ -1,13 +1,19 @@
 package com.urfu.library.service;
 
+import com.urfu.library.model.AuthorCount;
 import com.urfu.library.model.Book;
+import com.urfu.library.model.BookDescription;
 import com.urfu.library.model.BookRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
 import java.util.*;
+import java.util.stream.Stream;
 
 /**
  * Класс реализует модульные тесты для сервиса книг
@@ -17,6 +23,12 @@ public class BookServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private BookStatistics bookStatistics;
+
+    @Spy
+    private BookFingerprintFilter fingerprintFilter = new BookFingerprintFilter(1000, 0.01);
+
     @InjectMocks
     private BookService bookService;
 
@@ -64,7 +76,7 @@ public class BookServiceTest {
     /**
      * Тест для проверки успешного обновления информации о книге.
      * Данный тест симулирует наличие книги в БД, и проверяет, что информация
-     * о книге успешно обновляется, а метод репозитория save() вызывается.
+     * о книге успешно обновляется, а метод репозитория saveAndFlush() вызывается.
      */
     @Test
     public void testUpdateBookInfo_Success() {
@@ -75,13 +87,34 @@ public class BookServiceTest {
 
         Assertions.assertTrue(updatedBook.isPresent());
         Assertions.assertEquals("Updated Title", updatedBook.get().getTitle());
-        Mockito.verify(bookRepository, Mockito.times(1)).save(newBookData);
+        Mockito.verify(bookRepository, Mockito.times(1)).saveAndFlush(book);
+        Mockito.verify(bookStatistics, Mockito.times(1)).recordUpdated("Test Author", "Updated Author");
+    }
+
+    /**
+     * Тест проверяет, что запись описания не заменяется новой при обновлении книги:
+     * при неизменном тексте описание не трогается, при измененном обновляется на месте
+     */
+    @Test
+    public void testUpdateBookInfo_KeepsDescriptionRecord() {
+        BookDescription description = book.getDescriptionData();
+        Mockito.when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
+
+        bookService.updateBookInfo(bookId, new Book("Updated Title", "Test Author", "Test Description"));
+
+        Assertions.assertSame(description, book.getDescriptionData());
+        Assertions.assertEquals("Test Description", description.getText());
+
+        bookService.updateBookInfo(bookId, new Book("Updated Title", "Test Author", "Updated Description"));
+
+        Assertions.assertSame(description, book.getDescriptionData());
+        Assertions.assertEquals("Updated Description", description.getText());
     }
 
     /**
      * Тест для проверки ситуации, когда обновление книги невозможно,
      * так как книга с указанным ID не найдена.
-     * Тест проверяет, что метод репозитория save() не вызывается
+     * Тест проверяет, что метод репозитория saveAndFlush() не вызывается
      * и выбрасывается исключение
      */
     @Test
@@ -89,7 +122,7 @@ public class BookServiceTest {
         Mockito.when(bookRepository.findById(bookId)).thenReturn(Optional.empty());
 
         Assertions.assertThrows(NoSuchElementException.class, () -> bookService.updateBookInfo(bookId, book), "Book to update not found");
-        Mockito.verify(bookRepository, Mockito.never()).save(ArgumentMatchers.any(Book.class));
+        Mockito.verify(bookRepository, Mockito.never()).saveAndFlush(ArgumentMatchers.any(Book.class));
     }
 
     /**
@@ -103,6 +136,7 @@ public class BookServiceTest {
         bookService.deleteBook(bookId);
 
         Mockito.verify(bookRepository, Mockito.times(1)).deleteById(bookId);
+        Mockito.verify(bookStatistics, Mockito.times(1)).recordDeleted("Test Author");
     }
 
     /**
@@ -163,6 +197,19 @@ public class BookServiceTest {
         Assertions.assertTrue(foundBook.isEmpty());
     }
 
+    /**
+     * Тестирует прогрев книги вместе с описанием и пропуск отсутствующей книги
+     */
+    @Test
+    public void testPrefetchBook() {
+        Mockito.when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
+        Mockito.when(bookRepository.findById(2L)).thenReturn(Optional.empty());
+
+        Assertions.assertTrue(bookService.prefetchBook(bookId));
+        Assertions.assertFalse(bookService.prefetchBook(2L));
+        Assertions.assertEquals("Test Description", book.getDescription());
+    }
+
     /**
      * Тестирует успешный поиск книги по названию
      * @author Alexandr Filatov
@@ -188,4 +235,87 @@ public class BookServiceTest {
         List<Book> foundBook = bookService.getBooksByTitle("NotFoundTitle");
         Assertions.assertTrue(foundBook.isEmpty());
     }
+
+    /**
+     * Тестирует, что для заведомо новой книги проверка существования в БД не выполняется
+     */
+    @Test
+    public void testSaveBook_NewBookSkipsExistenceCheck() {
+        bookService.saveBook(book);
+
+        Mockito.verify(bookRepository, Mockito.never()).existsByFingerprint(ArgumentMatchers.anyString());
+        Mockito.verify(bookRepository, Mockito.times(1)).save(book);
+        Assertions.assertTrue(fingerprintFilter.mightContain(book.getFingerprint()));
+        Mockito.verify(bookStatistics, Mockito.times(1)).recordCreated("Test Author");
+    }
+
+    /**
+     * Тестирует отклонение дубликата, отличающегося только регистром и пробелами.
+     * Ожидается DuplicateBookException, сохранение не вызывается
+     */
+    @Test
+    public void testSaveBook_Duplicate() {
+        fingerprintFilter.put(book.getFingerprint());
+        Book duplicate = new Book("  test   TITLE ", "Test Author", "Other Description");
+        Mockito.when(bookRepository.existsByFingerprint(book.getFingerprint())).thenReturn(true);
+
+        Assertions.assertThrows(DuplicateBookException.class, () -> bookService.saveBook(duplicate));
+        Mockito.verify(bookRepository, Mockito.never()).save(ArgumentMatchers.any(Book.class));
+        Mockito.verify(bookStatistics, Mockito.never()).recordCreated(ArgumentMatchers.anyString());
+    }
+
+    /**
+     * Тестирует, что нарушение уникального индекса (например, при гонке двух вставок)
+     * превращается в DuplicateBookException
+     */
+    @Test
+    public void testSaveBook_UniqueIndexViolation() {
+        Mockito.when(bookRepository.save(book)).thenThrow(new DataIntegrityViolationException("Unique index violation",
+                new ConstraintViolationException("Unique index violation", new SQLException(), Book.FINGERPRINT_INDEX)));
+
+        Assertions.assertThrows(DuplicateBookException.class, () -> bookService.saveBook(book));
+    }
+
+    /**
+     * Тестирует, что нарушение других ограничений (например, NOT NULL) не выдается за дубликат
+     * и пробрасывается как есть
+     */
+    @Test
+    public void testSaveBook_OtherConstraintViolation() {
+        DataIntegrityViolationException notNullViolation = new DataIntegrityViolationException("Not null violation",
+                new ConstraintViolationException("Not null violation", new SQLException(), null));
+        Mockito.when(bookRepository.save(book)).thenThrow(notNullViolation);
+
+        DataIntegrityViolationException thrown =
+                Assertions.assertThrows(DataIntegrityViolationException.class, () -> bookService.saveBook(book));
+        Assertions.assertSame(notNullViolation, thrown);
+        Mockito.verify(bookStatistics, Mockito.never()).recordCreated(ArgumentMatchers.anyString());
+    }
+
+    /**
+     * Тестирует сверку счетчиков статистики с количеством книг по авторам из БД
+     */
+    @Test
+    public void testReconcileStatistics() {
+        BookStatistics.Snapshot before = new BookStatistics.Snapshot(0, Map.of());
+        List<AuthorCount> authorCounts = List.of(new AuthorCount("Test Author", 2));
+        Mockito.when(bookStatistics.snapshot()).thenReturn(before);
+        Mockito.when(bookRepository.countByAuthor()).thenReturn(authorCounts);
+
+        bookService.reconcileStatistics();
+
+        Mockito.verify(bookStatistics, Mockito.times(1)).reconcile(before, authorCounts);
+    }
+
+    /**
+     * Тестирует заполнение фильтра дубликатов отпечатками из БД при старте
+     */
+    @Test
+    public void testLoadFingerprints() {
+        Mockito.when(bookRepository.streamAllFingerprints()).thenReturn(Stream.of(book.getFingerprint()));
+
+        bookService.loadFingerprints();
+
+        Assertions.assertTrue(fingerprintFilter.mightContain(book.getFingerprint()));
+    }
 }
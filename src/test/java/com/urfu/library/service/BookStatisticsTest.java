@@ -0,0 +1,171 @@
+package com.urfu.library.service;
+
+import com.urfu.library.model.AuthorCount;
+import com.urfu.library.model.BookStats;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Класс реализует модульные тесты для счетчиков статистики каталога
+ */
+public class BookStatisticsTest {
+
+    private MutableClock clock;
+    private BookStatistics bookStatistics;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        bookStatistics = new BookStatistics(clock);
+    }
+
+    /**
+     * Тестирует обновление счетчиков при добавлении, обновлении и удалении книг
+     */
+    @Test
+    public void testRecordWrites() {
+        bookStatistics.recordCreated("Author A");
+        bookStatistics.recordCreated("Author A");
+        bookStatistics.recordCreated("Author B");
+        bookStatistics.recordUpdated("Author A", "Author B");
+        bookStatistics.recordDeleted("Author B");
+
+        BookStats stats = bookStatistics.getStats();
+
+        Assertions.assertEquals(2, stats.total());
+        Assertions.assertEquals(Map.of("Author A", 1L, "Author B", 1L), stats.byAuthor());
+        Assertions.assertEquals(3, stats.createdLastMinute());
+        Assertions.assertEquals(1, stats.updatedLastMinute());
+        Assertions.assertEquals(1, stats.deletedLastMinute());
+    }
+
+    /**
+     * Тестирует, что записи старше минуты не учитываются в частоте записей
+     */
+    @Test
+    public void testWriteRateWindow() {
+        bookStatistics.recordCreated("Author A");
+        clock.advance(Duration.ofSeconds(30));
+        bookStatistics.recordCreated("Author A");
+        clock.advance(Duration.ofSeconds(40));
+
+        BookStats stats = bookStatistics.getStats();
+
+        Assertions.assertEquals(1, stats.createdLastMinute());
+        Assertions.assertEquals(2, stats.total());
+    }
+
+    /**
+     * Тестирует сверку счетчиков с БД: значения приводятся к БД, общее количество равно сумме по авторам,
+     * отсутствующие в БД авторы не выводятся
+     */
+    @Test
+    public void testReconcile() {
+        bookStatistics.recordCreated("Author A");
+        bookStatistics.recordCreated("Author C");
+        bookStatistics.reconcile(bookStatistics.snapshot(),
+                List.of(new AuthorCount("Author A", 3), new AuthorCount("Author B", 2)));
+        BookStats stats = bookStatistics.getStats();
+
+        Assertions.assertEquals(5, stats.total());
+        Assertions.assertEquals(Map.of("Author A", 3L, "Author B", 2L), stats.byAuthor());
+    }
+
+    /**
+     * Тестирует, что счетчик автора, которого нет в БД, удаляется, только если остался нулевым
+     * ко второй сверке, а счетчик автора, книга которого добавлена между сверками, сохраняется
+     */
+    @Test
+    public void testReconcile_PrunesZeroCounters() {
+        bookStatistics.recordCreated("Author A");
+        bookStatistics.recordCreated("Author C");
+        bookStatistics.recordCreated("Author D");
+        bookStatistics.reconcile(bookStatistics.snapshot(), List.of(new AuthorCount("Author A", 1)));
+        Assertions.assertEquals(3, bookStatistics.authorCounters());
+
+        bookStatistics.recordCreated("Author D");
+        bookStatistics.reconcile(bookStatistics.snapshot(),
+                List.of(new AuthorCount("Author A", 1), new AuthorCount("Author D", 1)));
+        Assertions.assertEquals(2, bookStatistics.authorCounters());
+        Assertions.assertEquals(Map.of("Author A", 1L, "Author D", 1L), bookStatistics.getStats().byAuthor());
+    }
+
+    /**
+     * Тестирует, что записи, выполненные во время запроса к БД, не теряются при сверке,
+     * в том числе запись нового автора, которого еще нет в снимке БД
+     */
+    @Test
+    public void testReconcile_ConcurrentWrites() {
+        bookStatistics.recordCreated("Author A");
+        bookStatistics.recordCreated("Author B");
+        BookStatistics.Snapshot before = bookStatistics.snapshot();
+        bookStatistics.recordCreated("Author A");
+        bookStatistics.recordCreated("Author D");
+
+        bookStatistics.reconcile(before, List.of(new AuthorCount("Author A", 1), new AuthorCount("Author B", 4)));
+        BookStats stats = bookStatistics.getStats();
+
+        Assertions.assertEquals(4, stats.total());
+        Assertions.assertEquals(Map.of("Author A", 2L, "Author B", 4L, "Author D", 1L), stats.byAuthor());
+    }
+
+    /**
+     * Тестирует, что одновременные события в одной секунде не теряются
+     */
+    @Test
+    public void testWriteRateConcurrent() throws InterruptedException {
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    bookStatistics.recordUpdated("Author A", "Author A");
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assertions.assertEquals(40_000, bookStatistics.getStats().updatedLastMinute());
+    }
+
+    /**
+     * Часы, время которых сдвигается вручную
+     */
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
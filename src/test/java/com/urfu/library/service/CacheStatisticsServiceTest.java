@@ -0,0 +1,60 @@
+package com.urfu.library.service;
+
+import com.urfu.library.model.CacheRegionStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.util.List;
+
+/**
+ * Класс реализует модульные тесты для сервиса статистики кэша
+ */
+public class CacheStatisticsServiceTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Statistics statistics;
+
+    private CacheStatisticsService cacheStatisticsService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cacheStatisticsService = new CacheStatisticsService(entityManagerFactory);
+        Mockito.when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        Mockito.when(sessionFactory.getStatistics()).thenReturn(statistics);
+    }
+
+    /**
+     * Тестирует расчет доли попаданий по регионам.
+     * Регионы без обращений получают нулевую долю попаданий.
+     */
+    @Test
+    public void testGetRegionStatistics() {
+        CacheRegionStatistics bookRegion = Mockito.mock(CacheRegionStatistics.class);
+        Mockito.when(bookRegion.getHitCount()).thenReturn(3L);
+        Mockito.when(bookRegion.getMissCount()).thenReturn(1L);
+        Mockito.when(bookRegion.getPutCount()).thenReturn(1L);
+        CacheRegionStatistics titleRegion = Mockito.mock(CacheRegionStatistics.class);
+        Mockito.when(statistics.getSecondLevelCacheRegionNames()).thenReturn(new String[]{"book-by-title", "book"});
+        Mockito.when(statistics.getCacheRegionStatistics("book")).thenReturn(bookRegion);
+        Mockito.when(statistics.getCacheRegionStatistics("book-by-title")).thenReturn(titleRegion);
+
+        List<CacheRegionStats> result = cacheStatisticsService.getRegionStatistics();
+
+        Assertions.assertEquals(List.of(
+                new CacheRegionStats("book", 3, 1, 1, 0.75),
+                new CacheRegionStats("book-by-title", 0, 0, 0, 0.0)), result);
+    }
+}
@@ -0,0 +1,118 @@
+package com.urfu.library.service;
+
+import com.urfu.library.model.Book;
+import com.urfu.library.model.BookRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Класс реализует модульные тесты для приведения данных каталога к текущей модели
+ */
+public class CatalogMigrationTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private CatalogMigration catalogMigration;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    /**
+     * Тестирует заполнение отпечатков: книга без дубликата получает отпечаток,
+     * дубликаты (обнаруженные запросом или уникальным индексом) остаются без отпечатка
+     */
+    @Test
+    public void testBackfillFingerprints() {
+        Book unique = legacyBook(1L, "Unique Title");
+        Book duplicate = legacyBook(2L, "Duplicate Title");
+        Book racedDuplicate = legacyBook(3L, "Raced Title");
+        Mockito.when(bookRepository.findWithoutFingerprint(ArgumentMatchers.eq(Long.MIN_VALUE), ArgumentMatchers.any(Limit.class)))
+                .thenReturn(List.of(unique, duplicate, racedDuplicate));
+        Mockito.when(bookRepository.findWithoutFingerprint(ArgumentMatchers.eq(3L), ArgumentMatchers.any(Limit.class)))
+                .thenReturn(List.of());
+        Mockito.when(bookRepository.assignFingerprint(1L, Book.fingerprintOf("Unique Title", "Author"))).thenReturn(1);
+        Mockito.when(bookRepository.assignFingerprint(2L, Book.fingerprintOf("Duplicate Title", "Author"))).thenReturn(0);
+        Mockito.when(bookRepository.assignFingerprint(3L, Book.fingerprintOf("Raced Title", "Author")))
+                .thenThrow(new DataIntegrityViolationException("Unique index violation",
+                        new ConstraintViolationException("Unique index violation", new SQLException(), Book.FINGERPRINT_INDEX)));
+
+        Assertions.assertEquals(1, catalogMigration.backfillFingerprints());
+    }
+
+    /**
+     * Тестирует, что ошибки записи, не связанные с дубликатами, прерывают заполнение отпечатков
+     */
+    @Test
+    public void testBackfillFingerprints_OtherError() {
+        Mockito.when(bookRepository.findWithoutFingerprint(ArgumentMatchers.eq(Long.MIN_VALUE), ArgumentMatchers.any(Limit.class)))
+                .thenReturn(List.of(legacyBook(1L, "Title")));
+        Mockito.when(bookRepository.assignFingerprint(ArgumentMatchers.eq(1L), ArgumentMatchers.anyString()))
+                .thenThrow(new DataIntegrityViolationException("Not null violation"));
+
+        Assertions.assertThrows(DataIntegrityViolationException.class, () -> catalogMigration.backfillFingerprints());
+    }
+
+    /**
+     * Тестирует перенос описаний из прежнего столбца: описание переносится порциями, затем столбец удаляется
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMigrateDescriptions() {
+        Book book = legacyBook(1L, "Title");
+        Mockito.when(jdbcTemplate.queryForObject(ArgumentMatchers.anyString(), ArgumentMatchers.eq(Integer.class))).thenReturn(1);
+        Mockito.when(jdbcTemplate.query(ArgumentMatchers.anyString(), ArgumentMatchers.any(RowMapper.class), ArgumentMatchers.anyInt()))
+                .thenReturn(List.of(new CatalogMigration.LegacyDescription(1L, "Legacy Description")), List.of());
+        Mockito.when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+
+        Assertions.assertEquals(1, catalogMigration.migrateDescriptions());
+
+        Assertions.assertEquals("Legacy Description", book.getDescription());
+        Mockito.verify(transactionManager, Mockito.times(1)).commit(ArgumentMatchers.any());
+        Mockito.verify(jdbcTemplate, Mockito.times(1)).execute("alter table book drop column description");
+    }
+
+    /**
+     * Тестирует, что без прежнего столбца описаний перенос ничего не делает
+     */
+    @Test
+    public void testMigrateDescriptions_AlreadyMigrated() {
+        Mockito.when(jdbcTemplate.queryForObject(ArgumentMatchers.anyString(), ArgumentMatchers.eq(Integer.class))).thenReturn(0);
+
+        Assertions.assertEquals(0, catalogMigration.migrateDescriptions());
+
+        Mockito.verify(jdbcTemplate, Mockito.never()).execute(ArgumentMatchers.anyString());
+    }
+
+    /**
+     * Книга в том виде, в каком ее загружает репозиторий из строки без отпечатка
+     */
+    private static Book legacyBook(Long id, String title) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthor("Author");
+        return book;
+    }
+}
@@ -0,0 +1,64 @@
+package com.urfu.library.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Класс реализует модульные тесты для count-min sketch
+ */
+public class CountMinSketchTest {
+
+    /**
+     * Тестирует, что оценка не меньше реальной частоты и близка к ней для частых ключей
+     */
+    @Test
+    public void testEstimate() {
+        CountMinSketch sketch = new CountMinSketch(4, 1024);
+        for (int i = 0; i < 5000; i++) {
+            sketch.add("key-" + (i % 500), 1);
+        }
+        sketch.add("hot", 1000);
+
+        for (int i = 0; i < 500; i++) {
+            Assertions.assertTrue(sketch.estimate("key-" + i) >= 10);
+        }
+        Assertions.assertTrue(sketch.estimate("hot") >= 1000);
+        Assertions.assertTrue(sketch.estimate("hot") < 1100);
+    }
+
+    /**
+     * Тестирует, что одновременные увеличения счетчиков не теряются
+     */
+    @Test
+    public void testConcurrentAdd() throws InterruptedException {
+        CountMinSketch sketch = new CountMinSketch(4, 1024);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    sketch.add("hot", 1);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assertions.assertEquals(40_000, sketch.estimate("hot"));
+    }
+
+    /**
+     * Тестирует уменьшение всех счетчиков вдвое
+     */
+    @Test
+    public void testHalve() {
+        CountMinSketch sketch = new CountMinSketch(4, 1024);
+        sketch.add("hot", 100);
+        sketch.add("cold", 1);
+
+        sketch.halve();
+
+        Assertions.assertEquals(50, sketch.estimate("hot"));
+        Assertions.assertEquals(0, sketch.estimate("cold"));
+    }
+}
@@ -0,0 +1,65 @@
+package com.urfu.library.service;
+
+import com.urfu.library.model.HotBooks;
+import com.urfu.library.model.HotKey;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import java.util.List;
+
+/**
+ * Класс реализует модульные тесты для прогрева кэшей при старте
+ */
+public class HotBookPrefetcherTest {
+
+    @Mock
+    private HotBookTracker hotBookTracker;
+
+    @Mock
+    private BookService bookService;
+
+    @InjectMocks
+    private HotBookPrefetcher hotBookPrefetcher;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    /**
+     * Тестирует, что сохраненные книги (вместе с описаниями) и названия запрашиваются через сервис книг
+     */
+    @Test
+    public void testRun() {
+        Mockito.when(hotBookTracker.load())
+                .thenReturn(new HotBooks(List.of(new HotKey("1", 10), new HotKey("2", 5)), List.of(new HotKey("Test Title", 3))));
+        Mockito.when(bookService.prefetchBook(ArgumentMatchers.anyLong())).thenReturn(true);
+
+        hotBookPrefetcher.run(new DefaultApplicationArguments());
+
+        Mockito.verify(bookService, Mockito.times(1)).prefetchBook(1L);
+        Mockito.verify(bookService, Mockito.times(1)).prefetchBook(2L);
+        Mockito.verify(bookService, Mockito.times(1)).getBooksByTitle("Test Title");
+    }
+
+    /**
+     * Тестирует, что некорректный идентификатор и ошибка запроса пропускаются,
+     * а прогрев остальных ключей продолжается
+     */
+    @Test
+    public void testRun_InvalidKeysAndFailures() {
+        Mockito.when(hotBookTracker.load())
+                .thenReturn(new HotBooks(List.of(new HotKey("not-a-number", 10), new HotKey("2", 5), new HotKey("3", 4)),
+                        List.of(new HotKey("Broken Title", 3), new HotKey("Test Title", 2))));
+        Mockito.when(bookService.prefetchBook(2L)).thenThrow(new IllegalStateException("Database is unavailable"));
+        Mockito.when(bookService.getBooksByTitle("Broken Title")).thenThrow(new IllegalStateException("Database is unavailable"));
+
+        Assertions.assertDoesNotThrow(() -> hotBookPrefetcher.run(new DefaultApplicationArguments()));
+
+        Mockito.verify(bookService, Mockito.times(1)).prefetchBook(3L);
+        Mockito.verify(bookService, Mockito.times(1)).getBooksByTitle("Test Title");
+    }
+}
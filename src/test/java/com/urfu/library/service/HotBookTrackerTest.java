@@ -0,0 +1,152 @@
+package com.urfu.library.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.urfu.library.model.HotBooks;
+import com.urfu.library.model.HotKey;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Класс реализует модульные тесты для отслеживания часто читаемых книг
+ */
+public class HotBookTrackerTest {
+
+    @TempDir
+    private Path directory;
+
+    private HotBookTracker hotBookTracker;
+
+    @BeforeEach
+    public void setUp() {
+        hotBookTracker = new HotBookTracker(2, 1024, directory.resolve("hot-books.json"), new ObjectMapper());
+    }
+
+    /**
+     * Тестирует, что в top-K остаются самые часто читаемые книги, упорядоченные по убыванию частоты
+     */
+    @Test
+    public void testGetHotBooks() {
+        for (int i = 0; i < 10; i++) {
+            hotBookTracker.recordBook(1L);
+        }
+        for (int i = 0; i < 5; i++) {
+            hotBookTracker.recordBook(2L);
+        }
+        hotBookTracker.recordBook(3L);
+        hotBookTracker.recordTitle("Test Title");
+
+        HotBooks hotBooks = hotBookTracker.getHotBooks();
+
+        Assertions.assertEquals(List.of(new HotKey("1", 10), new HotKey("2", 5)), hotBooks.books());
+        Assertions.assertEquals(List.of(new HotKey("Test Title", 1)), hotBooks.titles());
+    }
+
+    /**
+     * Тестирует сохранение top-K в файл и восстановление после перезапуска
+     */
+    @Test
+    public void testSaveAndLoad() {
+        for (int i = 0; i < 3; i++) {
+            hotBookTracker.recordBook(1L);
+        }
+        hotBookTracker.recordTitle("Test Title");
+        hotBookTracker.save();
+
+        HotBookTracker restarted = new HotBookTracker(2, 1024, directory.resolve("hot-books.json"), new ObjectMapper());
+        HotBooks loaded = restarted.load();
+
+        Assertions.assertEquals(List.of(new HotKey("1", 3)), loaded.books());
+        Assertions.assertEquals(List.of(new HotKey("1", 3)), restarted.getHotBooks().books());
+        Assertions.assertEquals(List.of(new HotKey("Test Title", 1)), restarted.getHotBooks().titles());
+    }
+
+    /**
+     * Тестирует сохранение при остановке: пустой top-K не перезаписывает файл, непустой сохраняется
+     */
+    @Test
+    public void testSaveOnShutdown() {
+        hotBookTracker.saveOnShutdown();
+        Assertions.assertFalse(Files.exists(directory.resolve("hot-books.json")));
+
+        hotBookTracker.recordBook(1L);
+        hotBookTracker.saveOnShutdown();
+
+        HotBookTracker restarted = new HotBookTracker(2, 1024, directory.resolve("hot-books.json"), new ObjectMapper());
+        Assertions.assertEquals(List.of(new HotKey("1", 1)), restarted.load().books());
+    }
+
+    /**
+     * Тестирует, что сохраненные частоты не складываются с обращениями после перезапуска
+     */
+    @Test
+    public void testLoad_DoesNotAddSavedCounts() {
+        for (int i = 0; i < 3; i++) {
+            hotBookTracker.recordBook(1L);
+        }
+        hotBookTracker.save();
+
+        HotBookTracker restarted = new HotBookTracker(2, 1024, directory.resolve("hot-books.json"), new ObjectMapper());
+        restarted.load();
+        restarted.recordBook(1L);
+        restarted.recordBook(1L);
+
+        Assertions.assertEquals(List.of(new HotKey("1", 3)), restarted.getHotBooks().books());
+    }
+
+    /**
+     * Тестирует старение частот: после уменьшения вдвое редкие ключи покидают top-K,
+     * а новые обращения вытесняют прежде популярные
+     */
+    @Test
+    public void testDecay() {
+        for (int i = 0; i < 8; i++) {
+            hotBookTracker.recordBook(1L);
+        }
+        hotBookTracker.recordBook(2L);
+        hotBookTracker.recordTitle("Test Title");
+
+        hotBookTracker.decay();
+
+        Assertions.assertEquals(List.of(new HotKey("1", 4)), hotBookTracker.getHotBooks().books());
+        Assertions.assertTrue(hotBookTracker.getHotBooks().titles().isEmpty());
+
+        hotBookTracker.decay();
+        hotBookTracker.decay();
+        for (int i = 0; i < 3; i++) {
+            hotBookTracker.recordBook(3L);
+        }
+
+        Assertions.assertEquals(List.of(new HotKey("3", 3), new HotKey("1", 1)), hotBookTracker.getHotBooks().books());
+    }
+
+    /**
+     * Тестирует, что записи без ключа и с неположительной частотой из файла не загружаются
+     */
+    @Test
+    public void testLoad_SkipsInvalidEntries() throws Exception {
+        Files.writeString(directory.resolve("hot-books.json"),
+                "{\"books\":[{\"key\":null,\"count\":5},{\"key\":\"1\",\"count\":-1},{\"key\":\"2\",\"count\":3}],\"titles\":null}");
+
+        HotBooks loaded = hotBookTracker.load();
+
+        Assertions.assertEquals(List.of(new HotKey("2", 3)), loaded.books());
+        Assertions.assertTrue(loaded.titles().isEmpty());
+    }
+
+    /**
+     * Тестирует, что отсутствие файла дает пустой top-K
+     */
+    @Test
+    public void testLoad_NoFile() {
+        HotBooks loaded = hotBookTracker.load();
+
+        Assertions.assertTrue(loaded.books().isEmpty());
+        Assertions.assertTrue(loaded.titles().isEmpty());
+    }
+}
@@ -0,0 +1,210 @@
+package com.urfu.library.service;
+
+import com.urfu.library.model.AuthorCount;
+import com.urfu.library.model.Book;
+import com.urfu.library.model.BookDescription;
+import com.urfu.library.model.ReactiveBookDescriptionRepository;
+import com.urfu.library.model.ReactiveBookRepository;
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Класс реализует модульные тесты для реактивного сервиса книг
+ */
+public class ReactiveBookServiceTest {
+
+    @Mock
+    private ReactiveBookRepository bookRepository;
+
+    @Mock
+    private ReactiveBookDescriptionRepository descriptionRepository;
+
+    @Mock
+    private BookStatistics bookStatistics;
+
+    @InjectMocks
+    private ReactiveBookService bookService;
+
+    private Book book;
+    private Long bookId;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        bookId = 1L;
+        book = new Book("Test Title", "Test Author", "Test Description");
+    }
+
+    /**
+     * Тест для проверки успешного обновления информации о книге.
+     * Проверяет, что измененное описание обновляется в существующей записи, без добавления новой и удаления прежней.
+     */
+    @Test
+    public void testUpdateBookInfo_Success() {
+        Book newBookData = new Book("Updated Title", "Updated Author", "Updated Description");
+        Book stored = new Book("Test Title", "Test Author", null);
+        stored.setDescriptionId(10L);
+        BookDescription storedDescription = new BookDescription("Test Description");
+        storedDescription.setId(10L);
+        Mockito.when(bookRepository.findById(bookId)).thenReturn(Mono.just(stored));
+        Mockito.when(descriptionRepository.findById(10L)).thenReturn(Mono.just(storedDescription));
+        Mockito.when(descriptionRepository.save(storedDescription)).thenReturn(Mono.just(storedDescription));
+        Mockito.when(bookRepository.save(stored)).thenReturn(Mono.just(stored));
+
+        StepVerifier.create(bookService.updateBookInfo(bookId, newBookData))
+                .expectNextMatches(updated -> "Updated Title".equals(updated.getTitle())
+                        && updated.getDescriptionId() == 10L)
+                .verifyComplete();
+        Assertions.assertEquals("Updated Description", storedDescription.getText());
+        Mockito.verify(bookRepository, Mockito.times(1)).save(stored);
+        Mockito.verify(descriptionRepository, Mockito.times(1)).save(storedDescription);
+        Mockito.verify(descriptionRepository, Mockito.never()).deleteById(ArgumentMatchers.anyLong());
+        Mockito.verify(bookStatistics, Mockito.times(1)).recordUpdated("Test Author", "Updated Author");
+    }
+
+    /**
+     * Тест для проверки, что при неизменном описании его запись не перезаписывается
+     */
+    @Test
+    public void testUpdateBookInfo_SameDescription() {
+        Book newBookData = new Book("Updated Title", "Test Author", "Test Description");
+        Book stored = new Book("Test Title", "Test Author", null);
+        stored.setDescriptionId(10L);
+        BookDescription storedDescription = new BookDescription("Test Description");
+        storedDescription.setId(10L);
+        Mockito.when(bookRepository.findById(bookId)).thenReturn(Mono.just(stored));
+        Mockito.when(descriptionRepository.findById(10L)).thenReturn(Mono.just(storedDescription));
+        Mockito.when(bookRepository.save(stored)).thenReturn(Mono.just(stored));
+
+        StepVerifier.create(bookService.updateBookInfo(bookId, newBookData))
+                .expectNextMatches(updated -> updated.getDescriptionId() == 10L)
+                .verifyComplete();
+        Mockito.verify(descriptionRepository, Mockito.never()).save(ArgumentMatchers.any(BookDescription.class));
+        Mockito.verify(descriptionRepository, Mockito.never()).deleteById(ArgumentMatchers.anyLong());
+    }
+
+    /**
+     * Тест для проверки сохранения книги: описание сохраняется отдельной записью, добавление учитывается в статистике
+     */
+    @Test
+    public void testSaveBook_Success() {
+        BookDescription savedDescription = new BookDescription("Test Description");
+        savedDescription.setId(10L);
+        Mockito.when(descriptionRepository.save(book.getDescriptionData())).thenReturn(Mono.just(savedDescription));
+        Mockito.when(bookRepository.save(book)).thenReturn(Mono.just(book));
+
+        StepVerifier.create(bookService.saveBook(book))
+                .expectNextMatches(saved -> saved.getDescriptionId() == 10L)
+                .verifyComplete();
+        Mockito.verify(bookStatistics, Mockito.times(1)).recordCreated("Test Author");
+    }
+
+    /**
+     * Тест для проверки, что нарушение уникального индекса по отпечатку превращается в DuplicateBookException
+     */
+    @Test
+    public void testSaveBook_Duplicate() {
+        Mockito.when(bookRepository.save(book)).thenReturn(Mono.error(new DuplicateKeyException("Duplicate key",
+                new R2dbcDataIntegrityViolationException(
+                        "duplicate key value violates unique constraint \"" + Book.FINGERPRINT_INDEX + "\""))));
+        book.setDescriptionData(null);
+
+        StepVerifier.create(bookService.saveBook(book))
+                .expectError(DuplicateBookException.class)
+                .verify();
+        Mockito.verify(bookStatistics, Mockito.never()).recordCreated(ArgumentMatchers.anyString());
+    }
+
+    /**
+     * Тест для проверки, что нарушение другого уникального ограничения не выдается за дубликат книги
+     */
+    @Test
+    public void testSaveBook_OtherConstraintViolation() {
+        Mockito.when(bookRepository.save(book)).thenReturn(Mono.error(new DuplicateKeyException("Duplicate key",
+                new R2dbcDataIntegrityViolationException("duplicate key value violates unique constraint \"book_pkey\""))));
+        book.setDescriptionData(null);
+
+        StepVerifier.create(bookService.saveBook(book))
+                .expectError(DuplicateKeyException.class)
+                .verify();
+    }
+
+    /**
+     * Тест для проверки получения книги по ID вместе с описанием из отдельной таблицы
+     */
+    @Test
+    public void testGetBookById_WithDescription() {
+        Book stored = new Book("Test Title", "Test Author", null);
+        stored.setDescriptionId(10L);
+        Mockito.when(bookRepository.findById(bookId)).thenReturn(Mono.just(stored));
+        Mockito.when(descriptionRepository.findById(10L)).thenReturn(Mono.just(new BookDescription("Test Description")));
+
+        StepVerifier.create(bookService.getBookById(bookId))
+                .expectNextMatches(found -> "Test Description".equals(found.getDescription()))
+                .verifyComplete();
+    }
+
+    /**
+     * Тест для проверки ситуации, когда книга для обновления не найдена.
+     * Ожидается ошибка NoSuchElementException, сохранение не вызывается.
+     */
+    @Test
+    public void testUpdateBookInfo_BookNotFound() {
+        Mockito.when(bookRepository.findById(bookId)).thenReturn(Mono.empty());
+
+        StepVerifier.create(bookService.updateBookInfo(bookId, book))
+                .verifyError(NoSuchElementException.class);
+        Mockito.verify(bookRepository, Mockito.never()).save(ArgumentMatchers.any(Book.class));
+    }
+
+    /**
+     * Тест для проверки успешного удаления книги.
+     */
+    @Test
+    public void testDeleteBook_Success() {
+        Mockito.when(bookRepository.findById(bookId)).thenReturn(Mono.just(book));
+        Mockito.when(bookRepository.deleteById(bookId)).thenReturn(Mono.empty());
+
+        StepVerifier.create(bookService.deleteBook(bookId)).verifyComplete();
+        Mockito.verify(bookRepository, Mockito.times(1)).deleteById(bookId);
+        Mockito.verify(descriptionRepository, Mockito.never()).deleteById(ArgumentMatchers.any(Long.class));
+        Mockito.verify(bookStatistics, Mockito.times(1)).recordDeleted("Test Author");
+    }
+
+    /**
+     * Тест для проверки ситуации, когда книга для удаления не найдена.
+     * Ожидается ошибка NoSuchElementException, удаление не вызывается.
+     */
+    @Test
+    public void testDeleteBook_BookNotFound() {
+        Mockito.when(bookRepository.findById(bookId)).thenReturn(Mono.empty());
+
+        StepVerifier.create(bookService.deleteBook(bookId))
+                .verifyError(NoSuchElementException.class);
+        Mockito.verify(bookRepository, Mockito.never()).deleteById(ArgumentMatchers.any(Long.class));
+    }
+
+    /**
+     * Тест для проверки сверки счетчиков статистики с количеством книг по авторам из БД
+     */
+    @Test
+    public void testReconcileStatistics() {
+        BookStatistics.Snapshot before = new BookStatistics.Snapshot(0, Map.of());
+        Mockito.when(bookStatistics.snapshot()).thenReturn(before);
+        Mockito.when(bookRepository.countByAuthor()).thenReturn(Flux.just(new AuthorCount("Test Author", 2)));
+
+        StepVerifier.create(bookService.reconcileStatistics()).verifyComplete();
+        Mockito.verify(bookStatistics, Mockito.times(1)).reconcile(before, List.of(new AuthorCount("Test Author", 2)));
+    }
+}